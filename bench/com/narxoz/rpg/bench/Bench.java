@@ -0,0 +1,141 @@
+package com.narxoz.rpg.bench;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+// Minimal dependency-free benchmark harness, standing in for JMH because the
+// project has no build tool to pull it in. Each case runs on 1..N threads for a
+// fixed time after a warm-up and reports throughput plus bytes allocated per
+// operation (HotSpot per-thread allocation counters).
+//
+// It is not JMH: cases share one JVM (no forks), so earlier cases can change how
+// later ones are compiled; there is no per-call blackhole, only a small sink
+// array; and there are no repeated iterations or error bounds. Compare runs of
+// the same case on the same machine, not absolute numbers. B/op is exact to
+// the allocation counters and the most reliable column.
+public final class Bench {
+
+    @FunctionalInterface
+    public interface Op {
+        // i is the per-thread iteration counter; it wraps past Integer.MAX_VALUE on long
+        // runs, so index with Math.floorMod. Return the result so the JIT cannot drop the work
+        Object run(int i);
+    }
+
+    // Clock is read once per batch so timing overhead stays out of the numbers
+    private static final int BATCH = 256;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // Results escape through here so the JIT cannot elide the measured work
+    static volatile Object blackhole;
+
+    private final long warmupMillis;
+    private final long measureMillis;
+    private final int[] threadCounts;
+
+    public Bench(long warmupMillis, long measureMillis, int... threadCounts) {
+        this.warmupMillis = warmupMillis;
+        this.measureMillis = measureMillis;
+        this.threadCounts = Arrays.stream(threadCounts).distinct().sorted().toArray();
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    public static void printHeader() {
+        System.out.printf("%-40s %7s %14s %10s %10s%n", "benchmark", "threads", "ops/s", "ns/op", "B/op");
+    }
+
+    public void run(String name, Op op) {
+        for (int threads : threadCounts) {
+            Result result = measure(op, threads);
+            System.out.printf("%-40s %7d %14.0f %10.1f %10.1f%n", name, threads,
+                    result.opsPerSecond(), result.nanosPerOp(threads), result.bytesPerOp());
+        }
+    }
+
+    private Result measure(Op op, int threads) {
+        LongAdder ops = new LongAdder();
+        LongAdder bytes = new LongAdder();
+        LongAdder nanos = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    runWorker(op, ops, bytes, nanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "bench-" + t);
+            worker.start();
+        }
+
+        start.countDown();
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Benchmark interrupted", e);
+        }
+        return new Result(ops.sum(), bytes.sum(), nanos.sum() / threads);
+    }
+
+    private void runWorker(Op op, LongAdder ops, LongAdder bytes, LongAdder nanos) {
+        Object[] sink = new Object[16];
+        long warmupEnd = System.nanoTime() + warmupMillis * 1_000_000L;
+        int i = 0;
+        while (System.nanoTime() < warmupEnd) {
+            for (int b = 0; b < BATCH; b++, i++) {
+                sink[i & 15] = op.run(i);
+            }
+        }
+
+        long count = 0;
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        long end = start + measureMillis * 1_000_000L;
+        long now;
+        do {
+            for (int b = 0; b < BATCH; b++, i++) {
+                sink[i & 15] = op.run(i);
+            }
+            count += BATCH;
+            now = System.nanoTime();
+        } while (now < end);
+        bytes.add(THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore);
+        ops.add(count);
+        nanos.add(now - start);
+        blackhole = sink;
+    }
+
+    private static final class Result {
+        final long ops;
+        final long bytes;
+        final long nanos;
+
+        // nanos is the average wall time of one worker
+        Result(long ops, long bytes, long nanos) {
+            this.ops = ops;
+            this.bytes = bytes;
+            this.nanos = nanos;
+        }
+
+        double opsPerSecond() {
+            return nanos == 0 ? 0 : ops * 1e9 / nanos;
+        }
+
+        double nanosPerOp(int threads) {
+            return ops == 0 ? 0 : (double) nanos * threads / ops;
+        }
+
+        double bytesPerOp() {
+            return ops == 0 ? 0 : (double) bytes / ops;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.narxoz.rpg.bench;
+
+import com.narxoz.rpg.builder.EnemyDirector;
+import com.narxoz.rpg.combat.Abilities;
+import com.narxoz.rpg.enemy.AIBehavior;
+import com.narxoz.rpg.enemy.BasicEnemyBuilder;
+import com.narxoz.rpg.enemy.DragonBoss;
+import com.narxoz.rpg.enemy.Element;
+import com.narxoz.rpg.enemy.Enemy;
+import com.narxoz.rpg.factory.EnemyComponentFactory;
+import com.narxoz.rpg.factory.FireComponentFactory;
+import com.narxoz.rpg.factory.IceComponentFactory;
+import com.narxoz.rpg.factory.ShadowComponentFactory;
+import com.narxoz.rpg.loot.DropTable;
+import com.narxoz.rpg.loot.LootRoll;
+import com.narxoz.rpg.loot.LootRoller;
+import com.narxoz.rpg.loot.LootTable;
+import com.narxoz.rpg.prototype.EnemyRegistry;
+
+// Spawn-path benchmarks. Usage:
+//   java -cp out com.narxoz.rpg.bench.CreationalBenchmarks [warmupMs] [measureMs] [filter]
+// Every case runs at 1, 4 and availableProcessors() threads.
+public final class CreationalBenchmarks {
+
+    public static void main(String[] args) {
+        long warmupMillis = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        long measureMillis = args.length > 1 ? Long.parseLong(args[1]) : 2000;
+        String filter = args.length > 2 ? args[2] : "";
+        int cores = Runtime.getRuntime().availableProcessors();
+        Bench bench = new Bench(warmupMillis, measureMillis, 1, 4, cores);
+
+        EnemyComponentFactory fire = new FireComponentFactory();
+        EnemyDirector director = new EnemyDirector(BasicEnemyBuilder::new);
+
+        Enemy goblin = director.createMinion("Goblin", fire);
+        EnemyRegistry registry = new EnemyRegistry();
+        registry.registerTemplate("goblin", goblin);
+
+        DragonBoss dragon = new DragonBoss();
+        dragon.setElement(Element.FIRE);
+        dragon.addAbility(Abilities.flameBreath());
+        dragon.addAbility(Abilities.shadowStrike());
+        dragon.addPhase(1, 3000);
+        dragon.addPhase(2, 1500);
+        dragon.addPhase(3, 500);
+        dragon.clone(); // prototype is shared from here on, as in the registry
+
+        LootTable loot = goblin.getLootTable();
+        Enemy[] mixedAi = {
+                director.createMinion("Fire", fire),
+                director.createMinion("Ice", new IceComponentFactory()),
+                director.createMinion("Shadow", new ShadowComponentFactory())
+        };
+
+        Bench.printHeader();
+        run(bench, filter, "EnemyDirector.createMinion",
+                i -> director.createMinion("Goblin", fire));
+        run(bench, filter, "EnemyDirector.createRaidBoss",
+                i -> director.createRaidBoss("Dragon", fire));
+        EnemyDirector prebaked = EnemyDirector.prebaked(BasicEnemyBuilder::new,
+                fire, new IceComponentFactory(), new ShadowComponentFactory());
+        run(bench, filter, "EnemyDirector.createMinion (prebaked)",
+                i -> prebaked.createMinion("Goblin", fire));
+        run(bench, filter, "EnemyDirector.createRaidBoss (prebaked)",
+                i -> prebaked.createRaidBoss("Dragon", fire));
+        run(bench, filter, "EnemyRegistry.createFromTemplate",
+                i -> registry.createFromTemplate("goblin"));
+        run(bench, filter, "BasicEnemy.clone", i -> goblin.clone());
+        run(bench, filter, "DragonBoss.clone", i -> dragon.clone());
+        run(bench, filter, "Enemy.getAbilities", i -> goblin.getAbilities());
+        run(bench, filter, "LootTable.getItems", i -> loot.getItems());
+
+        DropTable drops = loot.getDropTable();
+        ThreadLocal<LootRoll> rolls = ThreadLocal.withInitial(LootRoll::new);
+        run(bench, filter, "DropTable.roll", i -> {
+            LootRoll roll = rolls.get();
+            drops.roll(LootRoller.seedFor(42, i), roll);
+            return roll;
+        });
+
+        // AI dispatch: String switch (hash + equals) vs typed ordinal switch
+        run(bench, filter, "AI dispatch (String)",
+                i -> dispatchByName(mixedAi[Math.floorMod(i, mixedAi.length)].getAiBehavior()));
+        run(bench, filter, "AI dispatch (ordinal)",
+                i -> dispatchByOrdinal(mixedAi[Math.floorMod(i, mixedAi.length)].getAiBehaviorType()));
+    }
+
+    private static void run(Bench bench, String filter, String name, Bench.Op op) {
+        if (name.contains(filter)) {
+            bench.run(name, op);
+        }
+    }
+
+    private static Integer dispatchByName(String ai) {
+        switch (ai) {
+            case "AGGRESSIVE":
+                return 1;
+            case "DEFENSIVE":
+                return 2;
+            case "TACTICAL":
+                return 3;
+            default:
+                return 0;
+        }
+    }
+
+    private static Integer dispatchByOrdinal(AIBehavior ai) {
+        switch (ai.ordinal()) {
+            case AIBehavior.AGGRESSIVE_ORDINAL:
+                return 1;
+            case AIBehavior.DEFENSIVE_ORDINAL:
+                return 2;
+            case AIBehavior.TACTICAL_ORDINAL:
+                return 3;
+            default:
+                return 0;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.narxoz.rpg.bench;
+
+import com.narxoz.rpg.combat.Abilities;
+import com.narxoz.rpg.enemy.BossEnemyBuilder;
+import com.narxoz.rpg.enemy.DamageAccumulator;
+import com.narxoz.rpg.enemy.DragonBoss;
+import com.narxoz.rpg.enemy.Element;
+import com.narxoz.rpg.loot.LootTables;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Many threads hitting one raid boss: a lock around every hit, lock-free
+// Enemy.applyDamage, and DamageAccumulator flushed by a 50 Hz tick thread.
+// Then checks that a boss hit to death from 64 threads loses no damage, sees
+// one killing blow and fires each phase transition once, in order. Usage:
+//   java -cp out com.narxoz.rpg.bench.DamageContentionBenchmark [warmupMs] [measureMs] [maxThreads]
+public final class DamageContentionBenchmark {
+
+    private static final int[] PHASE_THRESHOLDS = {1_500_000_000, 1_000_000_000, 500_000_000};
+
+    public static void main(String[] args) throws InterruptedException {
+        long warmupMs = args.length > 0 ? Long.parseLong(args[0]) : 300;
+        long measureMs = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+
+        DragonBoss template = boss(Integer.MAX_VALUE);
+        DragonBoss boss = (DragonBoss) template.clone();
+        Object lock = new Object();
+
+        Bench.printHeader();
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            Bench bench = new Bench(warmupMs, measureMs, threads);
+
+            boss.reinitFrom(template);
+            bench.run("synchronized hit", i -> {
+                synchronized (lock) {
+                    return boss.applyDamage(1);
+                }
+            });
+
+            boss.reinitFrom(template);
+            bench.run("Enemy.applyDamage", i -> boss.applyDamage(1));
+
+            boss.reinitFrom(template);
+            DamageAccumulator accumulator = new DamageAccumulator(boss);
+            Thread ticker = startTicker(accumulator);
+            bench.run("DamageAccumulator.hit", i -> {
+                accumulator.hit(1);
+                return null;
+            });
+            ticker.interrupt();
+            ticker.join();
+        }
+
+        verify(64, 200_000, false);
+        verify(64, 200_000, true);
+    }
+
+    private static DragonBoss boss(int health) {
+        BossEnemyBuilder builder = new BossEnemyBuilder();
+        for (int p = 0; p < PHASE_THRESHOLDS.length; p++) {
+            builder.addPhase(p + 1, (int) ((long) health * PHASE_THRESHOLDS[p] / Integer.MAX_VALUE));
+        }
+        return (DragonBoss) builder
+                .setName("Raid Dragon")
+                .setHealth(health)
+                .setDamage(120)
+                .setDefense(60)
+                .setSpeed(5)
+                .setElement(Element.RAID)
+                .addAbility(Abilities.flameBreath())
+                .setLootTable(LootTables.fire())
+                .build();
+    }
+
+    private static Thread startTicker(DamageAccumulator accumulator) {
+        return startTicker(accumulator, new LongAdder());
+    }
+
+    private static Thread startTicker(DamageAccumulator accumulator, LongAdder kills) {
+        Thread ticker = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (accumulator.flush()) {
+                    kills.increment();
+                }
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "tick");
+        ticker.setDaemon(true);
+        ticker.start();
+        return ticker;
+    }
+
+    // Exactly threads * hits health, so the very last hit is the killing blow
+    private static void verify(int threads, int hits, boolean striped) throws InterruptedException {
+        DragonBoss boss = boss(threads * hits);
+        AtomicInteger transitions = new AtomicInteger();
+        AtomicInteger outOfOrder = new AtomicInteger();
+        boss.setPhaseListener((enemy, from, to) -> {
+            if (from != transitions.getAndIncrement() || to != from + 1) {
+                outOfOrder.incrementAndGet();
+            }
+        });
+        DamageAccumulator accumulator = new DamageAccumulator(boss);
+        LongAdder kills = new LongAdder();
+        Thread ticker = striped ? startTicker(accumulator, kills) : null;
+
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < hits; i++) {
+                        if (striped) {
+                            accumulator.hit(1);
+                        } else if (boss.applyDamage(1)) {
+                            kills.increment();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        start.countDown();
+        done.await();
+        if (ticker != null) {
+            ticker.interrupt();
+            ticker.join();
+            if (accumulator.flush()) {
+                kills.increment();
+            }
+        }
+        System.out.printf("%s, %d threads x %d hits: health=%d kills=%d phase transitions=%d"
+                        + " out of order=%d (expected 0, 1, %d, 0)%n",
+                striped ? "DamageAccumulator" : "applyDamage", threads, hits,
+                boss.getHealth(), kills.sum(), transitions.get(), outOfOrder.get(), PHASE_THRESHOLDS.length);
+    }
+}
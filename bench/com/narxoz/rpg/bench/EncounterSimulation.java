@@ -0,0 +1,63 @@
+package com.narxoz.rpg.bench;
+
+import com.narxoz.rpg.builder.EnemyDirector;
+import com.narxoz.rpg.combat.Abilities;
+import com.narxoz.rpg.enemy.BasicEnemyBuilder;
+import com.narxoz.rpg.enemy.BossEnemyBuilder;
+import com.narxoz.rpg.enemy.Element;
+import com.narxoz.rpg.enemy.Enemy;
+import com.narxoz.rpg.factory.IceComponentFactory;
+import com.narxoz.rpg.factory.ShadowComponentFactory;
+import com.narxoz.rpg.loot.LootTables;
+import com.narxoz.rpg.simulation.Encounter;
+import com.narxoz.rpg.simulation.Hero;
+import com.narxoz.rpg.simulation.SimulationEngine;
+import com.narxoz.rpg.simulation.SimulationReport;
+
+import java.util.List;
+
+// Balance run of a sample raid: four heroes against a phased dragon and its escort.
+// Usage:
+//   java -cp out com.narxoz.rpg.bench.EncounterSimulation [encounters] [seed] [threads]
+public final class EncounterSimulation {
+
+    public static void main(String[] args) {
+        int encounters = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42;
+        int threads = args.length > 2 ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+
+        EnemyDirector director = new EnemyDirector(BasicEnemyBuilder::new);
+        Enemy dragon = new BossEnemyBuilder()
+                .addPhase(1, 3000)
+                .addPhase(2, 1500)
+                .addPhase(3, 500)
+                .setName("Ancient Dragon")
+                .setHealth(4000)
+                .setDamage(60)
+                .setDefense(25)
+                .setSpeed(10)
+                .setElement(Element.FIRE)
+                .addAbility(Abilities.flameBreath())
+                .addAbility(Abilities.frostBreath())
+                .addAbility(Abilities.shadowStrike())
+                .setLootTable(LootTables.fire())
+                .build();
+        Enemy frostGuard = director.createElite("Frost Guard", new IceComponentFactory());
+        Enemy shade = director.createElite("Shade", new ShadowComponentFactory());
+
+        Encounter raid = new Encounter(
+                List.of(new Hero("Knight", 900, 45, 30, 8),
+                        new Hero("Ranger", 600, 70, 12, 14),
+                        new Hero("Mage", 500, 90, 8, 11),
+                        new Hero("Cleric", 650, 35, 18, 9)),
+                List.of(dragon, frostGuard, shade));
+
+        try (SimulationEngine engine = new SimulationEngine(threads)) {
+            engine.run(raid, Math.min(encounters, 100_000), seed); // warm-up
+            SimulationReport report = engine.run(raid, encounters, seed);
+            System.out.println("threads=" + engine.getParallelism());
+            System.out.println(report);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.narxoz.rpg.bench;
+
+import com.narxoz.rpg.eventlog.EventLog;
+import com.narxoz.rpg.eventlog.EventLogReader;
+import com.narxoz.rpg.eventlog.EventType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+// Producer threads log ability events flat out for a fixed time, then the log
+// is closed and read back. Prints the producer cost per event, how many events
+// were written and dropped, and checks that written + dropped = offered. Usage:
+//   java -cp out com.narxoz.rpg.bench.EventLogBenchmark [threads] [millis] [ringCapacity]
+public final class EventLogBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 2_000;
+        int ringCapacity = args.length > 2 ? Integer.parseInt(args[2]) : EventLog.DEFAULT_RING_CAPACITY;
+
+        Path file;
+        try {
+            file = Files.createTempFile("combat", ".log");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        LongAdder offered = new LongAdder();
+        LongAdder nanos = new LongAdder();
+        EventLog log = EventLog.open(file, ringCapacity);
+        CountDownLatch done = new CountDownLatch(threads);
+        String[] names = {"Flame Breath", "Frost Breath", "Shadow Strike"};
+        for (int t = 0; t < threads; t++) {
+            int caster = t;
+            new Thread(() -> {
+                long count = 0;
+                long start = System.nanoTime();
+                long end = start + millis * 1_000_000L;
+                long now;
+                do {
+                    for (int i = 0; i < 256; i++, count++) {
+                        log.ability(names[(int) (count % 3)], 50, caster);
+                    }
+                    now = System.nanoTime();
+                } while (now < end);
+                offered.add(count);
+                nanos.add(now - start);
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        log.close();
+
+        // DROPPED markers are in the file too, but they are not offered events
+        long[] dropRecords = new long[2];
+        long read = EventLogReader.read(file, event -> {
+            if (event.type() == EventType.DROPPED) {
+                dropRecords[0]++;
+                dropRecords[1] += event.value1();
+            }
+        });
+        long size;
+        try {
+            size = Files.size(file);
+            Files.delete(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.out.printf("threads=%d ring=%d offered=%d (%.1f ns/event per producer)%n",
+                threads, ringCapacity, offered.sum(), (double) nanos.sum() / offered.sum());
+        System.out.printf("written=%d dropped=%d (%d in the file) read back=%d file=%.1f MB%n",
+                log.getWritten(), log.getDropped(), dropRecords[1], read, size / 1e6);
+        long events = read - dropRecords[0];
+        System.out.println(events + log.getDropped() == offered.sum()
+                ? "ok: every offered event was written or counted as dropped"
+                : "MISMATCH: " + events + " written + " + log.getDropped() + " dropped != " + offered.sum());
+    }
+}
@@ -0,0 +1,111 @@
+package com.narxoz.rpg.bench;
+
+import com.narxoz.rpg.builder.EnemyDirector;
+import com.narxoz.rpg.enemy.BasicEnemyBuilder;
+import com.narxoz.rpg.enemy.Enemy;
+import com.narxoz.rpg.factory.FireComponentFactory;
+import com.narxoz.rpg.metrics.Metrics;
+import com.narxoz.rpg.prototype.EnemyRecycler;
+import com.narxoz.rpg.prototype.EnemyRegistry;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.locks.LockSupport;
+
+// Spawns minions at a fixed rate, keeps each alive for a fixed time and then
+// drops it, once with createFromTemplate and once through EnemyRecycler, and
+// prints GC collections and bytes allocated per spawn for both. Usage:
+//   java -cp out com.narxoz.rpg.bench.RecyclerBenchmark [spawnsPerSec] [lifetimeMs] [seconds]
+public final class RecyclerBenchmark {
+
+    private interface Spawner {
+        Enemy spawn();
+
+        void despawn(Enemy enemy);
+    }
+
+    public static void main(String[] args) {
+        int rate = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int lifetimeMs = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        EnemyRegistry registry = new EnemyRegistry();
+        registry.registerTemplate("goblin",
+                new EnemyDirector(BasicEnemyBuilder::new).createMinion("Goblin", new FireComponentFactory()));
+        EnemyRecycler recycler = new EnemyRecycler(registry);
+
+        Spawner clone = new Spawner() {
+            public Enemy spawn() {
+                return registry.createFromTemplate("goblin");
+            }
+
+            public void despawn(Enemy enemy) {
+            }
+        };
+        Spawner recycle = new Spawner() {
+            public Enemy spawn() {
+                return recycler.acquire("goblin");
+            }
+
+            public void despawn(Enemy enemy) {
+                recycler.release(enemy);
+            }
+        };
+
+        int live = (int) ((long) rate * lifetimeMs / 1000);
+        System.out.printf("rate=%d/s lifetime=%d ms live=%d duration=%d s%n", rate, lifetimeMs, live, seconds);
+        run("createFromTemplate", clone, rate, live, 1);
+        run("EnemyRecycler", recycle, rate, live, 1);
+        run("createFromTemplate", clone, rate, live, seconds);
+        run("EnemyRecycler", recycle, rate, live, seconds);
+        System.out.printf("recycler: reused=%d created=%d discarded=%d%n",
+                recycler.getReused(), recycler.getCreated(), recycler.getDiscarded());
+    }
+
+    private static void run(String name, Spawner spawner, int rate, int live, int seconds) {
+        Enemy[] alive = new Enemy[Math.max(live, 1)];
+        int batch = Math.max(rate / 1000, 1);
+        long period = 1_000_000_000L * batch / rate;
+        long spawns = (long) rate * seconds;
+        for (int i = 0; i < alive.length; i++) {
+            alive[i] = spawner.spawn(); // measure the steady state, not the ramp-up
+        }
+
+        System.gc();
+        long gcBefore = collections();
+        long bytesBefore = Metrics.threadAllocatedBytes();
+        long start = System.nanoTime();
+        long next = start;
+        int slot = 0;
+        for (long i = 0; i < spawns; ) {
+            for (int b = 0; b < batch && i < spawns; b++, i++) {
+                spawner.despawn(alive[slot]);
+                alive[slot] = spawner.spawn();
+                slot = slot + 1 == alive.length ? 0 : slot + 1;
+            }
+            next += period;
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = Metrics.threadAllocatedBytes() - bytesBefore;
+        for (Enemy enemy : alive) {
+            spawner.despawn(enemy);
+        }
+        if (seconds > 1) {
+            System.out.printf("%-20s spawns=%d in %.1f s, gc collections=%d, %.1f B/spawn%n",
+                    name, spawns, elapsed / 1e9, collections() - gcBefore,
+                    bytesBefore < 0 ? Double.NaN : (double) bytes / spawns);
+        }
+    }
+
+    private static long collections() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(gc.getCollectionCount(), 0);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,56 @@
+package com.narxoz.rpg.bench;
+
+import com.narxoz.rpg.builder.EnemyDirector;
+import com.narxoz.rpg.enemy.BasicEnemyBuilder;
+import com.narxoz.rpg.enemy.Enemy;
+import com.narxoz.rpg.factory.FireComponentFactory;
+import com.narxoz.rpg.metrics.LatencyHistogram;
+import com.narxoz.rpg.prototype.EnemyRegistry;
+import com.narxoz.rpg.snapshot.StateDelta;
+import com.narxoz.rpg.snapshot.StatePublisher;
+import com.narxoz.rpg.snapshot.WorldState;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Publishes a WorldState every tick while a fixed share of the enemies takes a
+// hit, and reports publish latency and the size of a one-tick delta. Usage:
+//   java -cp out com.narxoz.rpg.bench.StatePublishBenchmark [enemies] [changedPercent] [ticks]
+public final class StatePublishBenchmark {
+
+    public static void main(String[] args) {
+        int enemies = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int changedPercent = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int ticks = args.length > 2 ? Integer.parseInt(args[2]) : 2_000;
+
+        EnemyRegistry registry = new EnemyRegistry();
+        registry.registerTemplate("goblin",
+                new EnemyDirector(BasicEnemyBuilder::new).createMinion("Goblin", new FireComponentFactory()));
+        List<Enemy> world = registry.spawn("goblin", enemies);
+        int hitsPerTick = (int) ((long) enemies * changedPercent / 100);
+
+        StatePublisher publisher = new StatePublisher();
+        SplittableRandom random = new SplittableRandom(42);
+        LatencyHistogram latency = new LatencyHistogram();
+        long deltaEnemies = 0;
+        for (int tick = 0; tick < ticks; tick++) {
+            for (int h = 0; h < hitsPerTick; h++) {
+                Enemy enemy = world.get(random.nextInt(enemies));
+                if (!enemy.applyDamage(1)) {
+                    continue;
+                }
+                world.set(world.indexOf(enemy), registry.createFromTemplate("goblin")); // respawn the dead
+            }
+            long start = System.nanoTime();
+            WorldState state = publisher.publish(world);
+            latency.record(System.nanoTime() - start);
+            StateDelta delta = state.changedSince(state.getVersion() - 1);
+            deltaEnemies += delta.changed().size() + delta.removed().size();
+        }
+
+        System.out.printf("enemies=%d changed/tick=%d%% ticks=%d%n", enemies, changedPercent, ticks);
+        System.out.printf("publish mean=%.1f us p50<=%.1f us p99<=%.1f us%n",
+                latency.getMean() / 1e3, latency.getPercentile(50) / 1e3, latency.getPercentile(99) / 1e3);
+        System.out.printf("one-tick delta: %.0f enemies of %d%n", (double) deltaEnemies / ticks, enemies);
+    }
+}
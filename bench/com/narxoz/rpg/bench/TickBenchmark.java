@@ -0,0 +1,69 @@
+package com.narxoz.rpg.bench;
+
+import com.narxoz.rpg.builder.EnemyDirector;
+import com.narxoz.rpg.combat.AbilityType;
+import com.narxoz.rpg.enemy.BasicEnemyBuilder;
+import com.narxoz.rpg.enemy.EnemyPool;
+import com.narxoz.rpg.factory.FireComponentFactory;
+import com.narxoz.rpg.factory.IceComponentFactory;
+import com.narxoz.rpg.factory.ShadowComponentFactory;
+import com.narxoz.rpg.metrics.LatencyHistogram;
+import com.narxoz.rpg.simulation.Hero;
+import com.narxoz.rpg.simulation.TickScheduler;
+
+import java.util.List;
+
+// Steps TickScheduler on the calling thread (one core) as fast as it can and
+// reports tick latency percentiles. Usage:
+//   java -cp out com.narxoz.rpg.bench.TickBenchmark [enemies] [warmupTicks] [ticks]
+public final class TickBenchmark {
+
+    public static void main(String[] args) {
+        int enemies = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int warmupTicks = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        int ticks = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+
+        EnemyDirector director = new EnemyDirector(BasicEnemyBuilder::new);
+        EnemyPool pool = new EnemyPool(enemies);
+        int third = enemies / 3;
+        pool.spawn(director.createMinion("Fire Goblin", new FireComponentFactory()), third);
+        pool.spawn(director.createMinion("Ice Goblin", new IceComponentFactory()), third);
+        pool.spawn(director.createMinion("Shade", new ShadowComponentFactory()), enemies - 2 * third);
+
+        // Effectively immortal heroes, so the load stays constant for the whole run
+        List<Hero> party = List.of(
+                new Hero("Knight", Integer.MAX_VALUE, 45, 30, 8),
+                new Hero("Ranger", Integer.MAX_VALUE, 70, 12, 14),
+                new Hero("Mage", Integer.MAX_VALUE, 90, 8, 11),
+                new Hero("Cleric", Integer.MAX_VALUE, 35, 18, 9));
+
+        TickScheduler warmup = new TickScheduler(pool, party);
+        for (int i = 0; i < warmupTicks; i++) {
+            warmup.tick();
+        }
+
+        TickScheduler scheduler = new TickScheduler(pool, party);
+        for (int i = 0; i < ticks; i++) {
+            scheduler.tick();
+        }
+
+        LatencyHistogram latency = scheduler.getTickLatency();
+        System.out.printf("enemies=%d live=%d ticks=%d budget=%.2f ms%n",
+                enemies, scheduler.getLiveEnemies(), scheduler.getTicks(),
+                scheduler.getTickPeriodNanos() / 1e6);
+        System.out.printf("tick mean=%.1f us p50<=%.1f us p90<=%.1f us p99<=%.1f us p99.9<=%.1f us max=%.1f us%n",
+                latency.getMean() / 1e3,
+                latency.getPercentile(50) / 1e3,
+                latency.getPercentile(90) / 1e3,
+                latency.getPercentile(99) / 1e3,
+                latency.getPercentile(99.9) / 1e3,
+                scheduler.getMaxTickNanos() / 1e3);
+        System.out.printf("casts: flame=%d frost=%d shadow=%d basic=%d, effects pending=%d, kills=%d%n",
+                scheduler.getCasts(AbilityType.FLAME_BREATH),
+                scheduler.getCasts(AbilityType.FROST_BREATH),
+                scheduler.getCasts(AbilityType.SHADOW_STRIKE),
+                scheduler.getBasicAttacks(),
+                scheduler.getActiveEffects(),
+                scheduler.getKills());
+    }
+}
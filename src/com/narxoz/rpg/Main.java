@@ -9,6 +9,7 @@ import com.narxoz.rpg.factory.IceComponentFactory;
 import com.narxoz.rpg.factory.ShadowComponentFactory;
 import com.narxoz.rpg.factory.EnemyComponentFactory;
 import com.narxoz.rpg.prototype.EnemyRegistry;
+import com.narxoz.rpg.prototype.TemplateVariant;
 
 public class Main {
 
@@ -68,15 +69,15 @@ public class Main {
 
         EnemyRegistry registry = new EnemyRegistry();
 
-        // Register base template
+        // Register base template and its difficulty variants
         registry.registerTemplate("goblin", fireGoblin);
+        registry.registerVariant("elite_goblin", "goblin", TemplateVariant.multiplied(2.0));
+        registry.registerVariant("champion_goblin", "goblin", TemplateVariant.multiplied(5.0));
 
-        // Clone difficulty variants
-        Enemy eliteGoblin = registry.createFromTemplate("goblin");
-        eliteGoblin.multiplyStats(2.0);
+        // Spawn difficulty variants
+        Enemy eliteGoblin = registry.createFromTemplate("elite_goblin");
 
-        Enemy championGoblin = registry.createFromTemplate("goblin");
-        championGoblin.multiplyStats(5.0);
+        Enemy championGoblin = registry.createFromTemplate("champion_goblin");
 
         System.out.println("Elite Goblin:");
         eliteGoblin.display();
@@ -1,6 +1,8 @@
 package com.narxoz.rpg.builder;
 
 import com.narxoz.rpg.combat.Ability;
+import com.narxoz.rpg.enemy.AIBehavior;
+import com.narxoz.rpg.enemy.Element;
 import com.narxoz.rpg.enemy.Enemy;
 import com.narxoz.rpg.loot.LootTable;
 
@@ -20,6 +22,8 @@ public interface EnemyBuilder {
 
     EnemyBuilder setElement(String element);
 
+    EnemyBuilder setElement(Element element);
+
     EnemyBuilder setAbilities(List<Ability> abilities);
 
     EnemyBuilder addAbility(Ability ability);
@@ -28,6 +32,12 @@ public interface EnemyBuilder {
 
     EnemyBuilder setAIBehavior(String aiBehavior);
 
+    EnemyBuilder setAIBehavior(AIBehavior aiBehavior);
+
+    // Clears all fields so the builder can be reused for the next enemy.
+    EnemyBuilder reset();
+
     // FACTORY METHOD
+    // Implementations reset themselves after each build() call.
     Enemy build();
 }
\ No newline at end of file
@@ -2,80 +2,130 @@ package com.narxoz.rpg.builder;
 
 import com.narxoz.rpg.enemy.Enemy;
 import com.narxoz.rpg.factory.EnemyComponentFactory;
+import com.narxoz.rpg.metrics.Metrics;
+import com.narxoz.rpg.metrics.SpawnMetrics;
+import com.narxoz.rpg.prototype.EnemyRegistry;
+
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
 
 public class EnemyDirector {
 
-    private final EnemyBuilder builder;
+    // Exactly one of these is set: a single shared builder (calls are serialized on it)
+    // or one pooled builder per thread, created on first use and reused afterwards.
+    private final EnemyBuilder sharedBuilder;
+    private final ThreadLocal<EnemyBuilder> threadBuilders;
+
+    // Set in prebaked mode: tier calls clone a ready prototype instead of building
+    private final PrototypeMatrix prototypes;
 
     public EnemyDirector(EnemyBuilder builder) {
-        this.builder = builder;
+        this.sharedBuilder = builder;
+        this.threadBuilders = null;
+        this.prototypes = null;
+    }
+
+    public EnemyDirector(Supplier<? extends EnemyBuilder> builderFactory) {
+        this(builderFactory, null);
+    }
+
+    private EnemyDirector(Supplier<? extends EnemyBuilder> builderFactory, PrototypeMatrix prototypes) {
+        this.sharedBuilder = null;
+        this.threadBuilders = ThreadLocal.withInitial(builderFactory);
+        this.prototypes = prototypes;
+    }
+
+    // Builds every tier of the given factories up front (in parallel); afterwards each
+    // create* call is a clone plus a name. Other factories are baked on first use.
+    public static EnemyDirector prebaked(Supplier<? extends EnemyBuilder> builderFactory,
+                                         EnemyComponentFactory... factories) {
+        PrototypeMatrix prototypes = new PrototypeMatrix(builderFactory).prebuild(factories);
+        return new EnemyDirector(builderFactory, prototypes);
+    }
+
+    public boolean isPrebaked() {
+        return prototypes != null;
     }
 
     // -------------------------
     // MINION
     // -------------------------
     public Enemy createMinion(String name, EnemyComponentFactory factory) {
-        return builder
-                .setName(name)
-                .setHealth(100)
-                .setDamage(10)
-                .setDefense(5)
-                .setSpeed(10)
-                .setElement("NONE")
-                .setAbilities(factory.createAbilities())
-                .setLootTable(factory.createLootTable())
-                .setAIBehavior(factory.createAIBehavior())
-                .build(); // FACTORY METHOD
+        return assemble(name, factory, EnemyTier.MINION);
     }
 
     // -------------------------
     // ELITE
     // -------------------------
     public Enemy createElite(String name, EnemyComponentFactory factory) {
-        return builder
-                .setName(name)
-                .setHealth(300)
-                .setDamage(25)
-                .setDefense(15)
-                .setSpeed(12)
-                .setElement("ELITE")
-                .setAbilities(factory.createAbilities())
-                .setLootTable(factory.createLootTable())
-                .setAIBehavior(factory.createAIBehavior())
-                .build(); // FACTORY METHOD
+        return assemble(name, factory, EnemyTier.ELITE);
     }
 
     // -------------------------
     // MINI BOSS
     // -------------------------
     public Enemy createMiniBoss(String name, EnemyComponentFactory factory) {
-        return builder
-                .setName(name)
-                .setHealth(800)
-                .setDamage(50)
-                .setDefense(30)
-                .setSpeed(8)
-                .setElement("BOSS")
-                .setAbilities(factory.createAbilities())
-                .setLootTable(factory.createLootTable())
-                .setAIBehavior(factory.createAIBehavior())
-                .build(); // FACTORY METHOD
+        return assemble(name, factory, EnemyTier.MINI_BOSS);
     }
 
     // -------------------------
     // RAID BOSS
     // -------------------------
     public Enemy createRaidBoss(String name, EnemyComponentFactory factory) {
-        return builder
-                .setName(name)
-                .setHealth(3000)
-                .setDamage(120)
-                .setDefense(60)
-                .setSpeed(5)
-                .setElement("RAID")
-                .setAbilities(factory.createAbilities())
-                .setLootTable(factory.createLootTable())
-                .setAIBehavior(factory.createAIBehavior())
-                .build(); // FACTORY METHOD
+        return assemble(name, factory, EnemyTier.RAID_BOSS);
+    }
+
+    private Enemy assemble(String name, EnemyComponentFactory factory, EnemyTier tier) {
+        if (prototypes != null) {
+            return prototypes.spawn(tier, name, factory);
+        }
+        if (threadBuilders != null) {
+            return assemble(threadBuilders.get(), name, factory, tier);
+        }
+        synchronized (sharedBuilder) {
+            return assemble(sharedBuilder, name, factory, tier);
+        }
+    }
+
+    static Enemy assemble(EnemyBuilder builder, String name,
+                          EnemyComponentFactory factory, EnemyTier tier) {
+        // Counted as they are made, so a call that throws is still reported
+        int factoryCalls = 0;
+        try {
+            builder.reset()
+                    .setName(name)
+                    .setHealth(tier.getHealth())
+                    .setDamage(tier.getDamage())
+                    .setDefense(tier.getDefense())
+                    .setSpeed(tier.getSpeed())
+                    .setElement(tier.getElement());
+            factoryCalls++;
+            builder.setAbilities(factory.createAbilities());
+            factoryCalls++;
+            builder.setLootTable(factory.createLootTable());
+            factoryCalls++;
+            builder.setAIBehavior(factory.createAIBehaviorType());
+            return builder.build(); // FACTORY METHOD
+        } finally {
+            SpawnMetrics metrics = Metrics.get();
+            if (factoryCalls > 0 && metrics.isEnabled()) {
+                metrics.recordFactoryCalls(factory, factoryCalls);
+            }
+        }
+    }
+
+    // -------------------------
+    // BATCH SPAWN
+    // -------------------------
+    // Runs the builder chain once and clones the result for the rest of the wave.
+    public List<Enemy> createMinions(String name, EnemyComponentFactory factory,
+                                     int count, ObjIntConsumer<Enemy> variantFn) {
+        return EnemyRegistry.cloneBatch(createMinion(name, factory), count, variantFn);
+    }
+
+    public List<Enemy> createElites(String name, EnemyComponentFactory factory,
+                                    int count, ObjIntConsumer<Enemy> variantFn) {
+        return EnemyRegistry.cloneBatch(createElite(name, factory), count, variantFn);
     }
 }
\ No newline at end of file
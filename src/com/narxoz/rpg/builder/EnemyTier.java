@@ -0,0 +1,45 @@
+package com.narxoz.rpg.builder;
+
+import com.narxoz.rpg.enemy.Element;
+
+// Base stats of the four EnemyDirector tiers
+public enum EnemyTier {
+    MINION(100, 10, 5, 10, Element.NONE),
+    ELITE(300, 25, 15, 12, Element.ELITE),
+    MINI_BOSS(800, 50, 30, 8, Element.BOSS),
+    RAID_BOSS(3000, 120, 60, 5, Element.RAID);
+
+    private final int health;
+    private final int damage;
+    private final int defense;
+    private final int speed;
+    private final Element element;
+
+    EnemyTier(int health, int damage, int defense, int speed, Element element) {
+        this.health = health;
+        this.damage = damage;
+        this.defense = defense;
+        this.speed = speed;
+        this.element = element;
+    }
+
+    public int getHealth() {
+        return health;
+    }
+
+    public int getDamage() {
+        return damage;
+    }
+
+    public int getDefense() {
+        return defense;
+    }
+
+    public int getSpeed() {
+        return speed;
+    }
+
+    public Element getElement() {
+        return element;
+    }
+}
@@ -0,0 +1,113 @@
+package com.narxoz.rpg.builder;
+
+import com.narxoz.rpg.enemy.Enemy;
+import com.narxoz.rpg.factory.EnemyComponentFactory;
+import com.narxoz.rpg.factory.FireComponentFactory;
+import com.narxoz.rpg.factory.IceComponentFactory;
+import com.narxoz.rpg.factory.ShadowComponentFactory;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+// Every EnemyTier x component factory combination, built once through the
+// normal builder chain and kept as a prototype. A spawn is then a clone plus
+// a name. The built-in factories have no state, so their rows are keyed by
+// class and a fresh instance per call still hits the cache; any other factory
+// is keyed by instance, so two configured instances get their own rows. A
+// prototype that was not prebuilt is baked on first use, one tier at a time.
+// At most MAX_ROWS rows are kept; past that, spawns for new factories are
+// built through the builder chain without caching.
+// Thread-safe: reads go to an immutable identity map, writers swap in a copy.
+public final class PrototypeMatrix {
+
+    private static final EnemyTier[] TIERS = EnemyTier.values();
+    static final int MAX_ROWS = 64;
+
+    private final Supplier<? extends EnemyBuilder> builderFactory;
+    private volatile Map<Object, Enemy[]> rows = new IdentityHashMap<>();
+
+    public PrototypeMatrix(Supplier<? extends EnemyBuilder> builderFactory) {
+        this.builderFactory = builderFactory;
+    }
+
+    // Bakes all tiers of the given factories in parallel, one builder per combination.
+    public PrototypeMatrix prebuild(EnemyComponentFactory... factories) {
+        Enemy[][] baked = new Enemy[factories.length][TIERS.length];
+        IntStream.range(0, factories.length * TIERS.length)
+                .parallel()
+                .forEach(i -> baked[i / TIERS.length][i % TIERS.length] =
+                        bake(factories[i / TIERS.length], TIERS[i % TIERS.length]));
+        for (int f = 0; f < factories.length; f++) {
+            publish(keyOf(factories[f]), baked[f]);
+        }
+        return this;
+    }
+
+    public Enemy spawn(EnemyTier tier, String name, EnemyComponentFactory factory) {
+        Object key = keyOf(factory);
+        Enemy[] row = rows.get(key);
+        Enemy prototype = row == null ? null : row[tier.ordinal()];
+        if (prototype == null) {
+            Enemy[] baked = new Enemy[TIERS.length];
+            baked[tier.ordinal()] = bake(factory, tier);
+            prototype = publish(key, baked)[tier.ordinal()];
+        }
+        Enemy enemy = prototype.clone();
+        enemy.setName(name);
+        return enemy;
+    }
+
+    public boolean contains(EnemyComponentFactory factory) {
+        return rows.containsKey(keyOf(factory));
+    }
+
+    // Number of baked prototypes
+    public int size() {
+        int size = 0;
+        for (Enemy[] row : rows.values()) {
+            for (Enemy prototype : row) {
+                size += prototype == null ? 0 : 1;
+            }
+        }
+        return size;
+    }
+
+    private static Object keyOf(EnemyComponentFactory factory) {
+        Class<?> type = factory.getClass();
+        if (type == FireComponentFactory.class || type == IceComponentFactory.class
+                || type == ShadowComponentFactory.class) {
+            return type;
+        }
+        return factory;
+    }
+
+    // Baking happens outside the lock. Prototypes another thread published first
+    // win; the merged row is returned. When the matrix is full, a new key's row is
+    // returned without being kept.
+    private synchronized Enemy[] publish(Object key, Enemy[] baked) {
+        Enemy[] existing = rows.get(key);
+        if (existing == null && rows.size() >= MAX_ROWS) {
+            return baked;
+        }
+        Enemy[] row = existing == null ? baked : existing.clone();
+        boolean changed = existing == null;
+        for (int i = 0; i < row.length; i++) {
+            if (row[i] == null && baked[i] != null) {
+                row[i] = baked[i];
+                changed = true;
+            }
+        }
+        if (changed) {
+            Map<Object, Enemy[]> copy = new IdentityHashMap<>(rows);
+            copy.put(key, row);
+            rows = copy;
+        }
+        return changed ? row : existing;
+    }
+
+    private Enemy bake(EnemyComponentFactory factory, EnemyTier tier) {
+        return EnemyDirector.assemble(builderFactory.get(), tier.name(), factory, tier);
+    }
+}
@@ -0,0 +1,216 @@
+package com.narxoz.rpg.catalog;
+
+import com.narxoz.rpg.combat.Ability;
+import com.narxoz.rpg.combat.AbilityType;
+import com.narxoz.rpg.enemy.PhaseTable;
+import com.narxoz.rpg.loot.DropTable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Validates a parsed catalog and compiles it into the binary snapshot described
+// in CatalogFormat. Only abilities and loot tables that enemies use are written.
+final class CatalogCompiler {
+
+    // Ids that exist without being declared in a catalog
+    static final Map<String, AbilityType> BUILTIN_ABILITIES = Map.of(
+            "flame_breath", AbilityType.FLAME_BREATH,
+            "frost_breath", AbilityType.FROST_BREATH,
+            "shadow_strike", AbilityType.SHADOW_STRIKE);
+    static final List<String> BUILTIN_LOOT = List.of("fire", "ice", "shadow");
+
+    private final CatalogModel model;
+    private final String sourceName;
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(bytes);
+    private final Map<String, Integer> abilityOffsets = new HashMap<>();
+    private final Map<String, Integer> lootOffsets = new HashMap<>();
+
+    private CatalogCompiler(CatalogModel model, String sourceName) {
+        this.model = model;
+        this.sourceName = sourceName;
+    }
+
+    static byte[] compile(CatalogModel model, String sourceName, long sourceSize, long sourceModified,
+                          long sourceHash, int flags) {
+        try {
+            return new CatalogCompiler(model, sourceName).write(sourceSize, sourceModified, sourceHash, flags);
+        } catch (IOException e) {
+            // Writing to memory cannot fail
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] write(long sourceSize, long sourceModified, long sourceHash, int flags) throws IOException {
+        out.writeInt(CatalogFormat.MAGIC);
+        out.writeInt(CatalogFormat.VERSION);
+        out.writeLong(sourceSize);
+        out.writeLong(sourceModified);
+        out.writeLong(sourceHash);
+        out.writeInt(flags);
+        out.writeInt(model.enemies.size());
+        out.writeInt(0); // index offset, patched below
+
+        List<long[]> index = new ArrayList<>(model.enemies.size());
+        List<String> indexKeys = new ArrayList<>(model.enemies.size());
+        for (CatalogModel.EnemyDef enemy : model.enemies.values()) {
+            validate(enemy);
+            int[] abilities = new int[enemy.abilities.size()];
+            for (int i = 0; i < abilities.length; i++) {
+                abilities[i] = abilityOffset(enemy, enemy.abilities.get(i));
+            }
+            int loot = lootOffset(enemy, enemy.loot);
+            int offset = out.size();
+            writeEnemy(enemy, abilities, loot);
+            index.add(new long[]{CatalogFormat.hash(enemy.key), offset, indexKeys.size()});
+            indexKeys.add(enemy.key);
+        }
+
+        index.sort((a, b) -> a[0] != b[0]
+                ? Long.compare(a[0], b[0])
+                : indexKeys.get((int) a[2]).compareTo(indexKeys.get((int) b[2])));
+        int indexOffset = out.size();
+        for (long[] entry : index) {
+            out.writeInt((int) entry[0]);
+            out.writeInt((int) entry[1]);
+        }
+        out.flush();
+
+        byte[] result = bytes.toByteArray();
+        ByteBuffer.wrap(result).putInt(CatalogFormat.INDEX_OFFSET_OFFSET, indexOffset);
+        return result;
+    }
+
+    private void validate(CatalogModel.EnemyDef enemy) {
+        if (enemy.name == null || enemy.name.isEmpty()) {
+            throw error(enemy, "name is required");
+        }
+        if (enemy.health <= 0) {
+            throw error(enemy, "health must be positive");
+        }
+        if (enemy.loot == null) {
+            throw error(enemy, "loot is required");
+        }
+        if (CatalogFormat.kindCode(enemy.kind) < 0) {
+            throw error(enemy, "unknown kind '" + enemy.kind + "' (basic or dragon)");
+        }
+        if (!enemy.phases.isEmpty() && CatalogFormat.kindCode(enemy.kind) != CatalogFormat.KIND_DRAGON) {
+            throw error(enemy, "only dragon enemies can have phases");
+        }
+        for (int[] phase : enemy.phases) {
+            if (phase[0] == PhaseTable.NO_PHASE) {
+                throw error(enemy, "phase " + PhaseTable.NO_PHASE + " is reserved for 'no phase'");
+            }
+        }
+    }
+
+    private void validate(CatalogModel.LootDef loot) {
+        if (loot.items.isEmpty()) {
+            throw new IllegalArgumentException(sourceName + ": loot '" + loot.id + "' has no items");
+        }
+        // Same checks the runtime table applies, reported at compile time
+        try {
+            DropTable.Builder drops = DropTable.builder()
+                    .gold(loot.goldMin, loot.goldMax)
+                    .experience(loot.experienceMin, loot.experienceMax);
+            for (int i = 0; i < loot.items.size(); i++) {
+                drops.item(loot.items.get(i), loot.weights.get(i), loot.rarities.get(i));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(sourceName + ": loot '" + loot.id + "': " + e.getMessage(), e);
+        }
+    }
+
+    private int abilityOffset(CatalogModel.EnemyDef enemy, String id) throws IOException {
+        Integer offset = abilityOffsets.get(id);
+        if (offset != null) {
+            return offset;
+        }
+        CatalogModel.AbilityDef def = model.abilities.get(id);
+        if (def == null) {
+            AbilityType builtin = BUILTIN_ABILITIES.get(id);
+            if (builtin == null) {
+                throw error(enemy, "unknown ability '" + id + "'");
+            }
+            def = new CatalogModel.AbilityDef(id);
+            def.type = builtin;
+        }
+        if (def.type == null) {
+            throw new IllegalArgumentException(sourceName + ": ability '" + id + "' has no type");
+        }
+        // Unset stats fall back to the type's defaults
+        Ability defaults = def.type.defaultInstance();
+        offset = out.size();
+        CatalogFormat.writeString(out, id);
+        out.writeByte(def.type.ordinal());
+        out.writeInt(def.damage >= 0 ? def.damage : defaults.getDamage());
+        out.writeInt(def.parameter >= 0 ? def.parameter : AbilityType.parameter(defaults));
+        abilityOffsets.put(id, offset);
+        return offset;
+    }
+
+    private int lootOffset(CatalogModel.EnemyDef enemy, String id) throws IOException {
+        Integer offset = lootOffsets.get(id);
+        if (offset != null) {
+            return offset;
+        }
+        CatalogModel.LootDef def = model.lootTables.get(id);
+        offset = out.size();
+        CatalogFormat.writeString(out, id);
+        if (def == null) {
+            if (!BUILTIN_LOOT.contains(id)) {
+                throw error(enemy, "unknown loot table '" + id + "'");
+            }
+            out.writeByte(CatalogFormat.LOOT_BUILTIN);
+        } else {
+            validate(def);
+            out.writeByte(CatalogFormat.LOOT_WEIGHTED);
+            out.writeInt(def.goldMin);
+            out.writeInt(def.goldMax);
+            out.writeInt(def.experienceMin);
+            out.writeInt(def.experienceMax);
+            out.writeInt(def.items.size());
+            for (int i = 0; i < def.items.size(); i++) {
+                CatalogFormat.writeString(out, def.items.get(i));
+                out.writeInt(def.weights.get(i));
+                out.writeByte(def.rarities.get(i).ordinal());
+            }
+        }
+        lootOffsets.put(id, offset);
+        return offset;
+    }
+
+    private void writeEnemy(CatalogModel.EnemyDef enemy, int[] abilities, int loot) throws IOException {
+        CatalogFormat.writeString(out, enemy.key);
+        out.writeByte(CatalogFormat.kindCode(enemy.kind));
+        CatalogFormat.writeString(out, enemy.name);
+        out.writeInt(enemy.health);
+        out.writeInt(enemy.damage);
+        out.writeInt(enemy.defense);
+        out.writeInt(enemy.speed);
+        CatalogFormat.writeString(out, enemy.element);
+        CatalogFormat.writeString(out, enemy.aiBehavior);
+        out.writeInt(abilities.length);
+        for (int offset : abilities) {
+            out.writeInt(offset);
+        }
+        out.writeInt(loot);
+        out.writeInt(enemy.phases.size());
+        for (int[] phase : enemy.phases) {
+            out.writeInt(phase[0]);
+            out.writeInt(phase[1]);
+        }
+    }
+
+    private IllegalArgumentException error(CatalogModel.EnemyDef enemy, String message) {
+        return new IllegalArgumentException(sourceName + ":" + enemy.line + ": enemy '"
+                + enemy.key + "': " + message);
+    }
+}
@@ -0,0 +1,84 @@
+package com.narxoz.rpg.catalog;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Layout of the compiled catalog snapshot (big-endian):
+//
+//   header   MAGIC, VERSION, sourceSize, sourceModified, sourceHash, flags, enemyCount, indexOffset
+//   records  ability / loot / enemy records, referenced by absolute offset
+//   index    enemyCount x (int keyHash, int recordOffset), sorted by hash then key
+//
+// Strings are a u16 byte length (0xFFFF for null) followed by UTF-8 bytes.
+final class CatalogFormat {
+
+    static final int MAGIC = 0x52504743; // "RPGC"
+    static final int VERSION = 3;
+
+    static final int SOURCE_SIZE_OFFSET = 8;
+    static final int SOURCE_MODIFIED_OFFSET = 16;
+    static final int SOURCE_HASH_OFFSET = 24;
+    static final int FLAGS_OFFSET = 32;
+    static final int ENEMY_COUNT_OFFSET = 36;
+    static final int INDEX_OFFSET_OFFSET = 40;
+    static final int HEADER_SIZE = 44;
+
+    // Compiled so soon after the source's mtime that size and mtime cannot prove freshness
+    static final int FLAG_RACY = 1;
+
+    static final int INDEX_ENTRY_SIZE = 8;
+
+    static final byte KIND_BASIC = 0;
+    static final byte KIND_DRAGON = 1;
+
+    static final byte LOOT_BUILTIN = 0;
+    static final byte LOOT_WEIGHTED = 1;
+
+    private static final int NULL_STRING = 0xFFFF;
+
+    private CatalogFormat() {
+    }
+
+    static byte kindCode(String kind) {
+        switch (kind) {
+            case "basic":
+                return KIND_BASIC;
+            case "dragon":
+                return KIND_DRAGON;
+            default:
+                return -1;
+        }
+    }
+
+    static int hash(String key) {
+        return key.hashCode();
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(NULL_STRING);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULL_STRING) {
+            throw new IllegalArgumentException("String too long for catalog: " + value.substring(0, 32) + "...");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    // Absolute read; returns the string and leaves its end offset in end[0]
+    static String readString(ByteBuffer buffer, int offset, int[] end) {
+        int length = Short.toUnsignedInt(buffer.getShort(offset));
+        if (length == NULL_STRING) {
+            end[0] = offset + 2;
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset + 2, bytes);
+        end[0] = offset + 2 + length;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,64 @@
+package com.narxoz.rpg.catalog;
+
+import com.narxoz.rpg.combat.AbilityType;
+import com.narxoz.rpg.loot.Rarity;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Parsed form of a text catalog, before it is compiled to the binary snapshot.
+final class CatalogModel {
+
+    static final class AbilityDef {
+        final String id;
+        AbilityType type;
+        int damage = -1;
+        int parameter = -1;
+
+        AbilityDef(String id) {
+            this.id = id;
+        }
+    }
+
+    static final class LootDef {
+        final String id;
+        final List<String> items = new ArrayList<>();
+        final List<Integer> weights = new ArrayList<>();
+        final List<Rarity> rarities = new ArrayList<>();
+        int goldMin;
+        int goldMax;
+        int experienceMin;
+        int experienceMax;
+
+        LootDef(String id) {
+            this.id = id;
+        }
+    }
+
+    static final class EnemyDef {
+        final String key;
+        final int line;
+        String kind = "basic";
+        String name;
+        int health;
+        int damage;
+        int defense;
+        int speed;
+        String element;
+        String aiBehavior;
+        final List<String> abilities = new ArrayList<>();
+        String loot;
+        final List<int[]> phases = new ArrayList<>();
+
+        EnemyDef(String key, int line) {
+            this.key = key;
+            this.line = line;
+        }
+    }
+
+    final Map<String, AbilityDef> abilities = new LinkedHashMap<>();
+    final Map<String, LootDef> lootTables = new LinkedHashMap<>();
+    final Map<String, EnemyDef> enemies = new LinkedHashMap<>();
+}
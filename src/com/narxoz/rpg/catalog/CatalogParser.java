@@ -0,0 +1,250 @@
+package com.narxoz.rpg.catalog;
+
+import com.narxoz.rpg.combat.AbilityType;
+import com.narxoz.rpg.loot.Rarity;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+// Reads the text catalog format:
+//
+//   # comment
+//   [ability big_flame]
+//   type = FLAME_BREATH
+//   damage = 80
+//
+//   [loot rich_fire]
+//   item = Fire Gem, 60, COMMON
+//   gold = 120..180
+//   experience = 300
+//
+//   [enemy fire_goblin]
+//   name = Fire Goblin
+//   health = 100
+//   abilities = flame_breath, big_flame
+//   loot = rich_fire
+//
+// Section keys must be unique per section type. Repeatable keys: item, phase.
+final class CatalogParser {
+
+    private final String sourceName;
+    private final CatalogModel model = new CatalogModel();
+
+    private int line;
+    private String sectionType;
+    private CatalogModel.AbilityDef ability;
+    private CatalogModel.LootDef loot;
+    private CatalogModel.EnemyDef enemy;
+
+    private CatalogParser(String sourceName) {
+        this.sourceName = sourceName;
+    }
+
+    static CatalogModel parse(BufferedReader reader, String sourceName) throws IOException {
+        CatalogParser parser = new CatalogParser(sourceName);
+        String text;
+        while ((text = reader.readLine()) != null) {
+            parser.line++;
+            parser.parseLine(text);
+        }
+        return parser.model;
+    }
+
+    private void parseLine(String text) {
+        int comment = text.indexOf('#');
+        String content = (comment >= 0 ? text.substring(0, comment) : text).trim();
+        if (content.isEmpty()) {
+            return;
+        }
+        if (content.startsWith("[")) {
+            startSection(content);
+            return;
+        }
+        int eq = content.indexOf('=');
+        if (eq < 0) {
+            throw error("Expected 'key = value' but got: " + content);
+        }
+        if (sectionType == null) {
+            throw error("Property outside of a section: " + content);
+        }
+        String key = content.substring(0, eq).trim();
+        String value = content.substring(eq + 1).trim();
+        switch (sectionType) {
+            case "ability":
+                abilityProperty(key, value);
+                break;
+            case "loot":
+                lootProperty(key, value);
+                break;
+            default:
+                enemyProperty(key, value);
+                break;
+        }
+    }
+
+    private void startSection(String header) {
+        if (!header.endsWith("]")) {
+            throw error("Unclosed section header: " + header);
+        }
+        String[] parts = header.substring(1, header.length() - 1).trim().split("\\s+");
+        if (parts.length != 2) {
+            throw error("Section header must be [type id]: " + header);
+        }
+        sectionType = parts[0];
+        String id = parts[1];
+        switch (sectionType) {
+            case "ability":
+                ability = new CatalogModel.AbilityDef(id);
+                putUnique(model.abilities.put(id, ability), id);
+                break;
+            case "loot":
+                loot = new CatalogModel.LootDef(id);
+                putUnique(model.lootTables.put(id, loot), id);
+                break;
+            case "enemy":
+                enemy = new CatalogModel.EnemyDef(id, line);
+                putUnique(model.enemies.put(id, enemy), id);
+                break;
+            default:
+                throw error("Unknown section type: " + sectionType);
+        }
+    }
+
+    private void putUnique(Object previous, String id) {
+        if (previous != null) {
+            throw error("Duplicate " + sectionType + " id: " + id);
+        }
+    }
+
+    private void abilityProperty(String key, String value) {
+        switch (key) {
+            case "type":
+                try {
+                    ability.type = AbilityType.valueOf(value);
+                } catch (IllegalArgumentException e) {
+                    throw error("Unknown ability type: " + value);
+                }
+                break;
+            case "damage":
+                ability.damage = parseInt(value);
+                break;
+            case "slow":
+            case "blind":
+                ability.parameter = parseInt(value);
+                break;
+            default:
+                throw error("Unknown ability property: " + key);
+        }
+    }
+
+    private void lootProperty(String key, String value) {
+        switch (key) {
+            case "item": {
+                String[] parts = splitList(value);
+                if (parts.length != 3) {
+                    throw error("item must be 'name, weight, RARITY': " + value);
+                }
+                loot.items.add(parts[0]);
+                loot.weights.add(parseInt(parts[1]));
+                try {
+                    loot.rarities.add(Rarity.valueOf(parts[2]));
+                } catch (IllegalArgumentException e) {
+                    throw error("Unknown rarity: " + parts[2]);
+                }
+                break;
+            }
+            case "gold": {
+                int[] range = parseRange(value);
+                loot.goldMin = range[0];
+                loot.goldMax = range[1];
+                break;
+            }
+            case "experience": {
+                int[] range = parseRange(value);
+                loot.experienceMin = range[0];
+                loot.experienceMax = range[1];
+                break;
+            }
+            default:
+                throw error("Unknown loot property: " + key);
+        }
+    }
+
+    private void enemyProperty(String key, String value) {
+        switch (key) {
+            case "kind":
+                enemy.kind = value;
+                break;
+            case "name":
+                enemy.name = value;
+                break;
+            case "health":
+                enemy.health = parseInt(value);
+                break;
+            case "damage":
+                enemy.damage = parseInt(value);
+                break;
+            case "defense":
+                enemy.defense = parseInt(value);
+                break;
+            case "speed":
+                enemy.speed = parseInt(value);
+                break;
+            case "element":
+                enemy.element = value;
+                break;
+            case "ai":
+                enemy.aiBehavior = value;
+                break;
+            case "abilities":
+                for (String id : splitList(value)) {
+                    if (!id.isEmpty()) {
+                        enemy.abilities.add(id);
+                    }
+                }
+                break;
+            case "loot":
+                enemy.loot = value;
+                break;
+            case "phase": {
+                String[] parts = splitList(value);
+                if (parts.length != 2) {
+                    throw error("phase must be 'phase, healthThreshold': " + value);
+                }
+                enemy.phases.add(new int[]{parseInt(parts[0]), parseInt(parts[1])});
+                break;
+            }
+            default:
+                throw error("Unknown enemy property: " + key);
+        }
+    }
+
+    private int[] parseRange(String value) {
+        int dots = value.indexOf("..");
+        if (dots < 0) {
+            int single = parseInt(value);
+            return new int[]{single, single};
+        }
+        return new int[]{parseInt(value.substring(0, dots)), parseInt(value.substring(dots + 2))};
+    }
+
+    private int parseInt(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw error("Not a number: " + value);
+        }
+    }
+
+    private static String[] splitList(String value) {
+        String[] parts = value.split(",");
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = parts[i].trim();
+        }
+        return parts;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(sourceName + ":" + line + ": " + message);
+    }
+}
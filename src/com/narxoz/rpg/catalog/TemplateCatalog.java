@@ -0,0 +1,390 @@
+package com.narxoz.rpg.catalog;
+
+import com.narxoz.rpg.combat.Ability;
+import com.narxoz.rpg.combat.AbilityType;
+import com.narxoz.rpg.enemy.BasicEnemyBuilder;
+import com.narxoz.rpg.enemy.BossEnemyBuilder;
+import com.narxoz.rpg.enemy.Enemy;
+import com.narxoz.rpg.loot.DropTable;
+import com.narxoz.rpg.loot.LootTable;
+import com.narxoz.rpg.loot.LootTables;
+import com.narxoz.rpg.loot.Rarity;
+import com.narxoz.rpg.loot.WeightedLootTable;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Enemy templates loaded from a text catalog (see CatalogParser for the format).
+// The first open compiles the catalog into a binary snapshot next to it; later
+// opens just memory-map that snapshot while the source size and mtime recorded in
+// it still match, without reading the text. Templates are decoded lazily on first
+// use, so opening costs the same for any catalog size.
+//
+// Snapshots are written as numbered generations (<cache>.1, <cache>.2, ...) and
+// never overwritten: a recompile publishes the next generation, and a reload maps
+// it in a new TemplateCatalog while the old one keeps its mapping. Replacing a
+// file that is still mapped fails on Windows; old generations are deleted when
+// nothing holds them any more.
+// Thread-safe: the mapping is read-only and decoded templates are cached.
+public final class TemplateCatalog {
+
+    // Concurrent opens can race for the same generation; give up after this many tries
+    private static final int MAX_PUBLISH_ATTEMPTS = 16;
+
+    // Coarsest common mtime resolution (FAT keeps 2 s). A snapshot compiled within
+    // this long of the source's mtime is marked racy: a same-size edit in the same
+    // tick would keep size and mtime, so opens compare content hashes instead.
+    private static final long RACY_MILLIS = 2000;
+
+    private final Path source;
+    private final ByteBuffer buffer;
+    private final int enemyCount;
+    private final int indexOffset;
+
+    private final Map<String, Enemy> templates = new ConcurrentHashMap<>();
+    private final Map<Integer, Ability> abilities = new ConcurrentHashMap<>();
+    private final Map<Integer, LootTable> lootTables = new ConcurrentHashMap<>();
+
+    private TemplateCatalog(Path source, ByteBuffer buffer) {
+        this.source = source;
+        this.buffer = buffer;
+        if (buffer.capacity() < CatalogFormat.HEADER_SIZE
+                || buffer.getInt(0) != CatalogFormat.MAGIC
+                || buffer.getInt(4) != CatalogFormat.VERSION) {
+            throw new IllegalStateException("Not a compiled catalog: " + source);
+        }
+        this.enemyCount = buffer.getInt(CatalogFormat.ENEMY_COUNT_OFFSET);
+        this.indexOffset = buffer.getInt(CatalogFormat.INDEX_OFFSET_OFFSET);
+    }
+
+    // Uses <source>.bin.<generation> as the binary cache
+    public static TemplateCatalog open(Path source) {
+        return open(source, source.resolveSibling(source.getFileName() + ".bin"));
+    }
+
+    // cache names the snapshot generations: <cache>.1, <cache>.2, ...
+    public static TemplateCatalog open(Path source, Path cache) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+            long size = attributes.size();
+            long modified = attributes.lastModifiedTime().toMillis();
+            for (int attempt = 0; attempt < MAX_PUBLISH_ATTEMPTS; attempt++) {
+                long current = latestGeneration(cache);
+                if (current == 0 || !isFresh(source, generation(cache, current), size, modified)) {
+                    current++;
+                    if (!compile(source, generation(cache, current), size, modified)) {
+                        continue; // another open published that generation first
+                    }
+                }
+                ByteBuffer mapped;
+                try {
+                    mapped = map(generation(cache, current));
+                } catch (NoSuchFileException e) {
+                    continue; // a newer generation appeared and this one was cleaned up
+                }
+                deleteOlderGenerations(cache, current);
+                return new TemplateCatalog(source, mapped);
+            }
+            throw new IllegalStateException("Could not publish a catalog snapshot for " + source);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open catalog " + source, e);
+        }
+    }
+
+    public Path getSource() {
+        return source;
+    }
+
+    public int size() {
+        return enemyCount;
+    }
+
+    public boolean contains(String key) {
+        return templates.containsKey(key) || findRecord(key) >= 0;
+    }
+
+    // Keys in index order; reads the whole index, so avoid on hot paths
+    public Set<String> keys() {
+        Set<String> keys = new LinkedHashSet<>();
+        int[] end = new int[1];
+        for (int i = 0; i < enemyCount; i++) {
+            keys.add(CatalogFormat.readString(buffer, recordOffsetAt(i), end));
+        }
+        return Collections.unmodifiableSet(keys);
+    }
+
+    public Enemy createFromTemplate(String key) {
+        Enemy template = templates.get(key);
+        if (template == null) {
+            template = templates.computeIfAbsent(key, this::decodeTemplate);
+        }
+        return template.clone();
+    }
+
+    // -------------------------
+    // CACHE FILE
+    // -------------------------
+    // Size and mtime from the header; the source is only read and hashed when the
+    // snapshot is racy. A racy snapshot whose window has passed is recompiled once,
+    // so later opens are back to the metadata check.
+    private static boolean isFresh(Path source, Path snapshot, long sourceSize, long sourceModified)
+            throws IOException {
+        if (!Files.isRegularFile(snapshot) || Files.size(snapshot) < CatalogFormat.HEADER_SIZE) {
+            return false;
+        }
+        ByteBuffer header = ByteBuffer.allocate(CatalogFormat.HEADER_SIZE);
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete
+            }
+        }
+        if (header.getInt(0) != CatalogFormat.MAGIC
+                || header.getInt(4) != CatalogFormat.VERSION
+                || header.getLong(CatalogFormat.SOURCE_SIZE_OFFSET) != sourceSize
+                || header.getLong(CatalogFormat.SOURCE_MODIFIED_OFFSET) != sourceModified) {
+            return false;
+        }
+        if ((header.getInt(CatalogFormat.FLAGS_OFFSET) & CatalogFormat.FLAG_RACY) == 0) {
+            return true;
+        }
+        return isRacy(sourceModified)
+                && contentHash(Files.readAllBytes(source)) == header.getLong(CatalogFormat.SOURCE_HASH_OFFSET);
+    }
+
+    private static boolean isRacy(long sourceModified) {
+        return System.currentTimeMillis() - sourceModified < RACY_MILLIS;
+    }
+
+    // First 8 bytes of the SHA-256 of the source text
+    static long contentHash(byte[] text) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(text)).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            // Every JDK ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // False if another open already published that generation. size and modified
+    // were read before the text, so an edit in between leaves a snapshot whose
+    // metadata no longer matches and the next open recompiles.
+    private static boolean compile(Path source, Path target, long size, long modified) throws IOException {
+        // One read serves both the hash and the parse, so they see the same text
+        byte[] text = Files.readAllBytes(source);
+        long hash = contentHash(text);
+        int flags = isRacy(modified) ? CatalogFormat.FLAG_RACY : 0;
+        CatalogModel model;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ByteArrayInputStream(text), StandardCharsets.UTF_8.newDecoder()))) {
+            model = CatalogParser.parse(reader, source.toString());
+        }
+        byte[] compiled = CatalogCompiler.compile(model, source.toString(), size, modified, hash, flags);
+
+        // Write next to the target and link it into place, so readers never map a
+        // partial file and an existing generation is never replaced
+        Path directory = target.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, compiled);
+            try {
+                Files.createLink(target, temp);
+            } catch (UnsupportedOperationException e) {
+                // No hard links on this file system; move fails as well if the target exists
+                Files.move(temp, target);
+            }
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            return false;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static Path generation(Path cache, long generation) {
+        return cache.resolveSibling(cache.getFileName() + "." + generation);
+    }
+
+    // 0 if there is none yet
+    private static long latestGeneration(Path cache) throws IOException {
+        long latest = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cache.toAbsolutePath().getParent())) {
+            for (Path file : files) {
+                latest = Math.max(latest, generationOf(cache, file));
+            }
+        }
+        return latest;
+    }
+
+    // 0 for files that are not a generation of cache
+    private static long generationOf(Path cache, Path file) {
+        String prefix = cache.getFileName() + ".";
+        String name = file.getFileName().toString();
+        if (!name.startsWith(prefix)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(name.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // Best effort: a generation another process still has mapped cannot be
+    // deleted on Windows and is retried by a later open.
+    private static void deleteOlderGenerations(Path cache, long current) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cache.toAbsolutePath().getParent())) {
+            for (Path file : files) {
+                long generation = generationOf(cache, file);
+                if (generation > 0 && generation < current) {
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException e) {
+                        // still in use
+                    }
+                }
+            }
+        }
+    }
+
+    private static ByteBuffer map(Path cache) throws IOException {
+        try (FileChannel channel = FileChannel.open(cache, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    // -------------------------
+    // INDEX
+    // -------------------------
+    private int recordOffsetAt(int index) {
+        return buffer.getInt(indexOffset + index * CatalogFormat.INDEX_ENTRY_SIZE + 4);
+    }
+
+    private int hashAt(int index) {
+        return buffer.getInt(indexOffset + index * CatalogFormat.INDEX_ENTRY_SIZE);
+    }
+
+    // Binary search on the key hash, then compare keys among equal hashes
+    private int findRecord(String key) {
+        int hash = CatalogFormat.hash(key);
+        int low = 0;
+        int high = enemyCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (hashAt(mid) < hash) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int[] end = new int[1];
+        for (int i = low; i < enemyCount && hashAt(i) == hash; i++) {
+            int offset = recordOffsetAt(i);
+            if (key.equals(CatalogFormat.readString(buffer, offset, end))) {
+                return offset;
+            }
+        }
+        return -1;
+    }
+
+    // -------------------------
+    // DECODING
+    // -------------------------
+    private Enemy decodeTemplate(String key) {
+        int offset = findRecord(key);
+        if (offset < 0) {
+            throw new IllegalArgumentException("No enemy template found for key: " + key);
+        }
+        int[] end = new int[1];
+        CatalogFormat.readString(buffer, offset, end);
+        int position = end[0];
+        byte kind = buffer.get(position++);
+        String name = CatalogFormat.readString(buffer, position, end);
+        position = end[0];
+
+        BasicEnemyBuilder builder = kind == CatalogFormat.KIND_DRAGON
+                ? new BossEnemyBuilder()
+                : new BasicEnemyBuilder();
+        builder.setName(name)
+                .setHealth(buffer.getInt(position))
+                .setDamage(buffer.getInt(position + 4))
+                .setDefense(buffer.getInt(position + 8))
+                .setSpeed(buffer.getInt(position + 12));
+        position += 16;
+        builder.setElement(CatalogFormat.readString(buffer, position, end));
+        builder.setAIBehavior(CatalogFormat.readString(buffer, end[0], end));
+        position = end[0];
+
+        int abilityCount = buffer.getInt(position);
+        position += 4;
+        for (int i = 0; i < abilityCount; i++) {
+            builder.addAbility(ability(buffer.getInt(position)));
+            position += 4;
+        }
+        builder.setLootTable(lootTable(buffer.getInt(position)));
+        position += 4;
+
+        int phaseCount = buffer.getInt(position);
+        position += 4;
+        for (int i = 0; i < phaseCount; i++) {
+            ((BossEnemyBuilder) builder).addPhase(buffer.getInt(position), buffer.getInt(position + 4));
+            position += 8;
+        }
+
+        // Keep a clone: it is already marked as shared, so spawning never writes to it
+        return builder.build().clone();
+    }
+
+    private Ability ability(int offset) {
+        return abilities.computeIfAbsent(offset, o -> {
+            int[] end = new int[1];
+            CatalogFormat.readString(buffer, o, end);
+            int position = end[0];
+            AbilityType type = AbilityType.values()[buffer.get(position)];
+            return type.create(buffer.getInt(position + 1), buffer.getInt(position + 5));
+        });
+    }
+
+    private LootTable lootTable(int offset) {
+        return lootTables.computeIfAbsent(offset, o -> {
+            int[] end = new int[1];
+            String id = CatalogFormat.readString(buffer, o, end);
+            int position = end[0];
+            if (buffer.get(position++) == CatalogFormat.LOOT_BUILTIN) {
+                return LootTables.named(id);
+            }
+            DropTable.Builder drops = DropTable.builder()
+                    .gold(buffer.getInt(position), buffer.getInt(position + 4))
+                    .experience(buffer.getInt(position + 8), buffer.getInt(position + 12));
+            int itemCount = buffer.getInt(position + 16);
+            position += 20;
+            for (int i = 0; i < itemCount; i++) {
+                String item = CatalogFormat.readString(buffer, position, end);
+                position = end[0];
+                drops.item(item, buffer.getInt(position), Rarity.values()[buffer.get(position + 4)]);
+                position += 5;
+            }
+            return new WeightedLootTable(drops.build());
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package com.narxoz.rpg.combat;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// FLYWEIGHT: canonical, shared instances of the immutable abilities.
+public final class Abilities {
+
+    private static final FlameBreath FLAME_BREATH = new FlameBreath();
+    private static final FrostBreath FROST_BREATH = new FrostBreath();
+    private static final ShadowStrike SHADOW_STRIKE = new ShadowStrike();
+
+    private static final Map<Long, FlameBreath> flameBreaths = new ConcurrentHashMap<>();
+    private static final Map<Long, FrostBreath> frostBreaths = new ConcurrentHashMap<>();
+    private static final Map<Long, ShadowStrike> shadowStrikes = new ConcurrentHashMap<>();
+
+    private Abilities() {
+    }
+
+    public static FlameBreath flameBreath() {
+        return FLAME_BREATH;
+    }
+
+    public static FrostBreath frostBreath() {
+        return FROST_BREATH;
+    }
+
+    public static ShadowStrike shadowStrike() {
+        return SHADOW_STRIKE;
+    }
+
+    public static FlameBreath flameBreath(int damage) {
+        if (damage == FLAME_BREATH.getDamage()) {
+            return FLAME_BREATH;
+        }
+        return flameBreaths.computeIfAbsent(key(damage, 0), k -> new FlameBreath(damage));
+    }
+
+    public static FrostBreath frostBreath(int damage, int slowPercentage) {
+        if (damage == FROST_BREATH.getDamage()
+                && slowPercentage == FROST_BREATH.getSlowPercentage()) {
+            return FROST_BREATH;
+        }
+        return frostBreaths.computeIfAbsent(key(damage, slowPercentage),
+                k -> new FrostBreath(damage, slowPercentage));
+    }
+
+    public static ShadowStrike shadowStrike(int damage, int blindDuration) {
+        if (damage == SHADOW_STRIKE.getDamage()
+                && blindDuration == SHADOW_STRIKE.getBlindDuration()) {
+            return SHADOW_STRIKE;
+        }
+        return shadowStrikes.computeIfAbsent(key(damage, blindDuration),
+                k -> new ShadowStrike(damage, blindDuration));
+    }
+
+    private static long key(int a, int b) {
+        return ((long) a << 32) | (b & 0xFFFFFFFFL);
+    }
+}
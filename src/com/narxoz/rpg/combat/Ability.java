@@ -4,5 +4,9 @@ public interface Ability extends Cloneable {
     String getName();
     int getDamage();
     String getDescription();
+
+    // Immutable abilities may return this; mutable ones must return a real copy.
+    // The built-in abilities are immutable flyweights (see Abilities) and do, so
+    // every enemy cloned from a prototype shares the same instances.
     Ability clone();
-}
\ No newline at end of file
+}
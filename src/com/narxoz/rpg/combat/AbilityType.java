@@ -0,0 +1,79 @@
+package com.narxoz.rpg.combat;
+
+// The concrete ability kinds, with a uniform (damage, parameter) view of their stats
+// so data files and snapshots can describe any ability as type + two ints.
+public enum AbilityType {
+    FLAME_BREATH {
+        @Override
+        public Ability defaultInstance() {
+            return Abilities.flameBreath();
+        }
+
+        @Override
+        public Ability create(int damage, int parameter) {
+            return Abilities.flameBreath(damage);
+        }
+
+        @Override
+        int parameterOf(Ability ability) {
+            return 0;
+        }
+    },
+    FROST_BREATH {
+        @Override
+        public Ability defaultInstance() {
+            return Abilities.frostBreath();
+        }
+
+        @Override
+        public Ability create(int damage, int parameter) {
+            return Abilities.frostBreath(damage, parameter);
+        }
+
+        @Override
+        int parameterOf(Ability ability) {
+            return ((FrostBreath) ability).getSlowPercentage();
+        }
+    },
+    SHADOW_STRIKE {
+        @Override
+        public Ability defaultInstance() {
+            return Abilities.shadowStrike();
+        }
+
+        @Override
+        public Ability create(int damage, int parameter) {
+            return Abilities.shadowStrike(damage, parameter);
+        }
+
+        @Override
+        int parameterOf(Ability ability) {
+            return ((ShadowStrike) ability).getBlindDuration();
+        }
+    };
+
+    public abstract Ability defaultInstance();
+
+    // Returns the canonical (interned) instance for these stats.
+    // parameter is the slow percentage for FROST_BREATH, blind turns for SHADOW_STRIKE.
+    public abstract Ability create(int damage, int parameter);
+
+    abstract int parameterOf(Ability ability);
+
+    public static AbilityType of(Ability ability) {
+        if (ability instanceof FlameBreath) {
+            return FLAME_BREATH;
+        }
+        if (ability instanceof FrostBreath) {
+            return FROST_BREATH;
+        }
+        if (ability instanceof ShadowStrike) {
+            return SHADOW_STRIKE;
+        }
+        throw new IllegalArgumentException("Unsupported ability: " + ability.getClass().getName());
+    }
+
+    public static int parameter(Ability ability) {
+        return of(ability).parameterOf(ability);
+    }
+}
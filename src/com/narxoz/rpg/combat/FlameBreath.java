@@ -1,6 +1,16 @@
 package com.narxoz.rpg.combat;
 
-public class FlameBreath implements Ability {
+public final class FlameBreath implements Ability {
+
+    private final int damage;
+
+    public FlameBreath() {
+        this(50);
+    }
+
+    public FlameBreath(int damage) {
+        this.damage = damage;
+    }
 
     @Override
     public String getName() {
@@ -9,7 +19,7 @@ public class FlameBreath implements Ability {
 
     @Override
     public int getDamage() {
-        return 50;
+        return damage;
     }
 
     @Override
@@ -19,6 +29,6 @@ public class FlameBreath implements Ability {
 
     @Override
     public Ability clone() {
-        return new FlameBreath();
+        return this;
     }
-}
\ No newline at end of file
+}
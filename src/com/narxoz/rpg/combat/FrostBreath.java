@@ -1,13 +1,17 @@
 package com.narxoz.rpg.combat;
 
-public class FrostBreath implements Ability {
+public final class FrostBreath implements Ability {
 
     private final int damage;
     private final int slowPercentage;
 
     public FrostBreath() {
-        this.damage = 40;
-        this.slowPercentage = 30;
+        this(40, 30);
+    }
+
+    public FrostBreath(int damage, int slowPercentage) {
+        this.damage = damage;
+        this.slowPercentage = slowPercentage;
     }
 
     @Override
@@ -32,7 +36,6 @@ public class FrostBreath implements Ability {
 
     @Override
     public Ability clone() {
-        // Deep copy not needed here because fields are primitives
-        return new FrostBreath();
+        return this;
     }
-}
\ No newline at end of file
+}
@@ -1,13 +1,17 @@
 package com.narxoz.rpg.combat;
 
-public class ShadowStrike implements Ability {
+public final class ShadowStrike implements Ability {
 
     private final int damage;
     private final int blindDuration;
 
     public ShadowStrike() {
-        this.damage = 55;
-        this.blindDuration = 2; // in turns
+        this(55, 2); // blind in turns
+    }
+
+    public ShadowStrike(int damage, int blindDuration) {
+        this.damage = damage;
+        this.blindDuration = blindDuration;
     }
 
     @Override
@@ -32,6 +36,6 @@ public class ShadowStrike implements Ability {
 
     @Override
     public Ability clone() {
-        return new ShadowStrike();
+        return this;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+package com.narxoz.rpg.enemy;
+
+// Typed AI behavior with a dense ordinal, so AI dispatch can switch on ordinal()
+// or index a handler array instead of hashing and comparing strings.
+// New behaviors (e.g. from data files) are registered on first use by of(String).
+public final class AIBehavior {
+
+    private static final OrdinalRegistry<AIBehavior> REGISTRY = new OrdinalRegistry<>(AIBehavior::new);
+
+    // Ordinals of the built-in behaviors, usable as switch labels
+    public static final int AGGRESSIVE_ORDINAL = 0;
+    public static final int DEFENSIVE_ORDINAL = 1;
+    public static final int TACTICAL_ORDINAL = 2;
+
+    public static final AIBehavior AGGRESSIVE = of("AGGRESSIVE");
+    public static final AIBehavior DEFENSIVE = of("DEFENSIVE");
+    public static final AIBehavior TACTICAL = of("TACTICAL");
+
+    private final String name;
+    private final int ordinal;
+
+    private AIBehavior(String name, int ordinal) {
+        this.name = name;
+        this.ordinal = ordinal;
+    }
+
+    // String bridge for data files; null stays null.
+    public static AIBehavior of(String name) {
+        return name == null ? null : REGISTRY.of(name);
+    }
+
+    public static AIBehavior byOrdinal(int ordinal) {
+        return REGISTRY.byOrdinal(ordinal);
+    }
+
+    // Number of registered behaviors; valid ordinals are [0, count()).
+    public static int count() {
+        return REGISTRY.size();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int ordinal() {
+        return ordinal;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -1,7 +1,5 @@
 package com.narxoz.rpg.enemy;
 
-import com.narxoz.rpg.combat.Ability;
-
 import java.util.ArrayList;
 
 public class BasicEnemy extends Enemy {
@@ -12,20 +10,7 @@ public class BasicEnemy extends Enemy {
 
     @Override
     public Enemy clone() {
-        BasicEnemy copy = new BasicEnemy();
-        copy.name = this.name;
-        copy.health = this.health;
-        copy.damage = this.damage;
-        copy.defense = this.defense;
-        copy.speed = this.speed;
-        copy.element = this.element;
-        copy.aiBehavior = this.aiBehavior;
-        copy.lootTable = this.lootTable.clone();
-
-        for (Ability a : this.abilities) {
-            copy.abilities.add(a.clone());
-        }
-
-        return copy;
+        // Abilities and loot table are shared until the clone changes them
+        return shareCopy();
     }
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package com.narxoz.rpg.enemy;
 import com.narxoz.rpg.builder.EnemyBuilder;
 import com.narxoz.rpg.combat.Ability;
 import com.narxoz.rpg.loot.LootTable;
+import com.narxoz.rpg.metrics.Metrics;
+import com.narxoz.rpg.metrics.SpawnMetrics;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -14,10 +16,10 @@ public class BasicEnemyBuilder implements EnemyBuilder {
     private int damage;
     private int defense;
     private int speed;
-    private String element;
-    private List<Ability> abilities = new ArrayList<>();
+    private Element element;
+    private final List<Ability> abilities = new ArrayList<>();
     private LootTable lootTable;
-    private String aiBehavior;
+    private AIBehavior aiBehavior;
 
     @Override
     public EnemyBuilder setName(String name) {
@@ -51,13 +53,21 @@ public class BasicEnemyBuilder implements EnemyBuilder {
 
     @Override
     public EnemyBuilder setElement(String element) {
+        this.element = Element.of(element);
+        return this;
+    }
+
+    @Override
+    public EnemyBuilder setElement(Element element) {
         this.element = element;
         return this;
     }
 
     @Override
     public EnemyBuilder setAbilities(List<Ability> abilities) {
-        this.abilities = abilities;
+        // Copy, so later addAbility calls never touch the caller's list
+        this.abilities.clear();
+        this.abilities.addAll(abilities);
         return this;
     }
 
@@ -75,12 +85,51 @@ public class BasicEnemyBuilder implements EnemyBuilder {
 
     @Override
     public EnemyBuilder setAIBehavior(String aiBehavior) {
+        this.aiBehavior = AIBehavior.of(aiBehavior);
+        return this;
+    }
+
+    @Override
+    public EnemyBuilder setAIBehavior(AIBehavior aiBehavior) {
         this.aiBehavior = aiBehavior;
         return this;
     }
 
+    @Override
+    public EnemyBuilder reset() {
+        name = null;
+        health = 0;
+        damage = 0;
+        defense = 0;
+        speed = 0;
+        element = null;
+        abilities.clear();
+        lootTable = null;
+        aiBehavior = null;
+        return this;
+    }
+
     @Override
     public Enemy build() {
+        SpawnMetrics metrics = Metrics.get();
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+        try {
+            Enemy enemy = buildEnemy();
+            if (metrics.isEnabled()) {
+                metrics.recordBuild(System.nanoTime() - start);
+            }
+            return enemy;
+        } finally {
+            reset();
+        }
+    }
+
+    // FACTORY METHOD: subclasses pick the concrete Enemy type
+    protected Enemy createEnemy() {
+        return new BasicEnemy();
+    }
+
+    private Enemy buildEnemy() {
         if (name == null || name.isEmpty()) {
             throw new IllegalStateException("Enemy name is required");
         }
@@ -91,7 +140,7 @@ public class BasicEnemyBuilder implements EnemyBuilder {
             throw new IllegalStateException("LootTable is required");
         }
 
-        BasicEnemy enemy = new BasicEnemy();
+        Enemy enemy = createEnemy();
 
         enemy.setCoreStatsInternal(
                 name,
@@ -111,4 +160,4 @@ public class BasicEnemyBuilder implements EnemyBuilder {
 
         return enemy;
     }
-    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.narxoz.rpg.enemy;
+
+import com.narxoz.rpg.builder.EnemyBuilder;
+
+// Builds DragonBoss enemies: everything BasicEnemyBuilder does plus boss phases.
+public class BossEnemyBuilder extends BasicEnemyBuilder {
+
+    private PhaseTable phases = PhaseTable.EMPTY;
+
+    public BossEnemyBuilder addPhase(int phase, int healthThreshold) {
+        phases = phases.withPhase(phase, healthThreshold);
+        return this;
+    }
+
+    @Override
+    public EnemyBuilder reset() {
+        phases = PhaseTable.EMPTY;
+        return super.reset();
+    }
+
+    @Override
+    protected Enemy createEnemy() {
+        DragonBoss boss = new DragonBoss();
+        boss.setPhasesInternal(phases);
+        return boss;
+    }
+}
@@ -0,0 +1,75 @@
+package com.narxoz.rpg.enemy;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Striped pending damage for one heavily hit enemy (a raid boss). Hits from any
+// thread are added to a per-thread stripe without touching the enemy, and the
+// tick thread merges them with a single applyDamage per flush(). Stripes are
+// padded apart so hitting threads do not share cache lines.
+// Thread-safe; no hit is lost between hit() and a concurrent flush().
+public final class DamageAccumulator {
+
+    // longs between two stripes: 128 bytes, which also covers adjacent-line prefetch
+    private static final int PADDING = 16;
+
+    private final Enemy target;
+    private final AtomicLongArray cells;
+    private final int mask;
+
+    public DamageAccumulator(Enemy target) {
+        this(target, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    public DamageAccumulator(Enemy target, int stripes) {
+        if (target == null) {
+            throw new IllegalArgumentException("Target enemy is required");
+        }
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Stripe count must be positive: " + stripes);
+        }
+        int size = Integer.highestOneBit(stripes * 2 - 1); // next power of two
+        this.target = target;
+        this.cells = new AtomicLongArray(size * PADDING);
+        this.mask = size - 1;
+    }
+
+    public Enemy getTarget() {
+        return target;
+    }
+
+    public void hit(int amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Damage must not be negative: " + amount);
+        }
+        cells.getAndAdd(stripe(), amount);
+    }
+
+    // Once per tick: applies all damage queued since the last flush. Returns true
+    // if this flush dealt the killing blow (see Enemy.applyDamage).
+    public boolean flush() {
+        long total = 0;
+        for (int i = 0; i < cells.length(); i += PADDING) {
+            if (cells.get(i) != 0) {
+                total += cells.getAndSet(i, 0);
+            }
+        }
+        if (total == 0) {
+            return false;
+        }
+        return target.applyDamage((int) Math.min(total, Integer.MAX_VALUE));
+    }
+
+    // Queued damage not yet flushed; a moving target while threads are hitting
+    public long pending() {
+        long total = 0;
+        for (int i = 0; i < cells.length(); i += PADDING) {
+            total += cells.get(i);
+        }
+        return total;
+    }
+
+    private int stripe() {
+        long h = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return ((int) (h >>> 32) & mask) * PADDING;
+    }
+}
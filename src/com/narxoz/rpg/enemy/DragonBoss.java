@@ -1,32 +1,128 @@
 package com.narxoz.rpg.enemy;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 
 public class DragonBoss extends Enemy {
 
-    private final Map<Integer, Integer> phases = new HashMap<>();
+    private static final VarHandle CURRENT_PHASE;
+    private static final VarHandle ANNOUNCING;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            CURRENT_PHASE = lookup.findVarHandle(DragonBoss.class, "currentPhase", int.class);
+            ANNOUNCING = lookup.findVarHandle(DragonBoss.class, "announcing", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // Immutable, so clones share it; addPhase swaps in a new table
+    private PhaseTable phases = PhaseTable.EMPTY;
+    private int currentPhase = PhaseTable.NO_PHASE;
+    // 1 while some thread is reporting phase transitions
+    private int announcing;
+    private PhaseListener phaseListener;
 
     public void addPhase(int phase, int healthThreshold) {
-        phases.put(phase, healthThreshold);
+        phases = phases.withPhase(phase, healthThreshold);
+    }
+
+    void setPhasesInternal(PhaseTable phases) {
+        this.phases = phases;
+    }
+
+    public PhaseTable getPhases() {
+        return phases;
+    }
+
+    public int getCurrentPhase() {
+        return phases.phaseFor(health);
+    }
+
+    // Call after each hit: recomputes the phase from current health and
+    // notifies the listener of every phase entered since the previous check
+    // (see PhaseListener). Safe under concurrent hits: one thread at a time
+    // claims the right to announce with a CAS and walks the crossed phases in
+    // order; the others return at once and leave their transitions to it.
+    public int checkPhase() {
+        while (true) {
+            int phase = phases.phaseFor(readHealth());
+            if (phase == (int) CURRENT_PHASE.getVolatile(this)
+                    || !ANNOUNCING.compareAndSet(this, 0, 1)) {
+                return phase;
+            }
+            try {
+                announceTransitions();
+            } finally {
+                ANNOUNCING.setVolatile(this, 0);
+            }
+            // Health may have dropped again after our last look but before the
+            // release, while a loser saw the flag still set; check once more.
+        }
+    }
+
+    private void announceTransitions() {
+        PhaseTable table = phases;
+        while (true) {
+            int current = currentPhase;
+            int from = current == PhaseTable.NO_PHASE ? table.size() : table.indexOfPhase(current);
+            int target = table.indexFor(readHealth());
+            int next;
+            if (from >= 0 && target < from) {
+                next = table.phaseAt(from - 1); // one threshold down
+            } else {
+                // Health went back up, or the phase is not in this table: jump straight there
+                next = target < table.size() ? table.phaseAt(target) : PhaseTable.NO_PHASE;
+                if (next == current) {
+                    return;
+                }
+            }
+            CURRENT_PHASE.setVolatile(this, next);
+            if (phaseListener != null) {
+                phaseListener.onPhaseChange(this, current, next);
+            }
+        }
     }
 
     @Override
-    public Enemy clone() {
-        DragonBoss copy = new DragonBoss();
+    public boolean applyDamage(int amount) {
+        boolean killed = super.applyDamage(amount);
+        checkPhase();
+        return killed;
+    }
+
+    // Phase seen by the last checkPhase(); kept by EnemyCodec so a restored boss
+    // does not report a phase change it already reported before the snapshot.
+    int getCheckedPhaseInternal() {
+        return currentPhase;
+    }
+
+    void setCheckedPhaseInternal(int phase) {
+        this.currentPhase = phase;
+    }
 
-        copy.name = this.name;
-        copy.health = this.health;
-        copy.damage = this.damage;
-        copy.defense = this.defense;
-        copy.speed = this.speed;
-        copy.element = this.element;
-        copy.aiBehavior = this.aiBehavior;
-        copy.lootTable = this.lootTable.clone();
+    public void setPhaseListener(PhaseListener phaseListener) {
+        this.phaseListener = phaseListener;
+    }
 
-        this.abilities.forEach(a -> copy.abilities.add(a.clone()));
-        this.phases.forEach(copy.phases::put);
+    @Override
+    public void reinitFrom(Enemy prototype) {
+        super.reinitFrom(prototype);
+        DragonBoss boss = (DragonBoss) prototype;
+        phases = boss.phases;
+        currentPhase = boss.currentPhase;
+        announcing = 0; // the prototype may be mid-announcement
+        phaseListener = null;
+    }
 
+    @Override
+    public Enemy clone() {
+        // Abilities, loot table and phases are shared until the clone changes them
+        DragonBoss copy = (DragonBoss) shareCopy();
+        copy.announcing = 0;
+        copy.phaseListener = null;
         return copy;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+package com.narxoz.rpg.enemy;
+
+// Typed element with a dense ordinal, so hot paths can switch on ordinal()
+// or index arrays with it instead of comparing strings.
+// New elements (e.g. from data files) are registered on first use by of(String).
+public final class Element {
+
+    private static final OrdinalRegistry<Element> REGISTRY = new OrdinalRegistry<>(Element::new);
+
+    // Ordinals of the built-in elements, usable as switch labels
+    public static final int NONE_ORDINAL = 0;
+    public static final int FIRE_ORDINAL = 1;
+    public static final int ICE_ORDINAL = 2;
+    public static final int SHADOW_ORDINAL = 3;
+    public static final int ELITE_ORDINAL = 4;
+    public static final int BOSS_ORDINAL = 5;
+    public static final int RAID_ORDINAL = 6;
+
+    public static final Element NONE = of("NONE");
+    public static final Element FIRE = of("FIRE");
+    public static final Element ICE = of("ICE");
+    public static final Element SHADOW = of("SHADOW");
+    public static final Element ELITE = of("ELITE");
+    public static final Element BOSS = of("BOSS");
+    public static final Element RAID = of("RAID");
+
+    private final String name;
+    private final int ordinal;
+
+    private Element(String name, int ordinal) {
+        this.name = name;
+        this.ordinal = ordinal;
+    }
+
+    // String bridge for data files; null stays null.
+    public static Element of(String name) {
+        return name == null ? null : REGISTRY.of(name);
+    }
+
+    public static Element byOrdinal(int ordinal) {
+        return REGISTRY.byOrdinal(ordinal);
+    }
+
+    // Number of registered elements; valid ordinals are [0, count()).
+    public static int count() {
+        return REGISTRY.size();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int ordinal() {
+        return ordinal;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
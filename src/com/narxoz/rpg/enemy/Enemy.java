@@ -2,21 +2,62 @@ package com.narxoz.rpg.enemy;
 
 import com.narxoz.rpg.combat.Ability;
 import com.narxoz.rpg.loot.LootTable;
+import com.narxoz.rpg.metrics.Metrics;
+import com.narxoz.rpg.metrics.SpawnMetrics;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
-public abstract class Enemy {
+public abstract class Enemy implements Cloneable {
+
+    private static final VarHandle HEALTH;
+    private static final VarHandle RELEASED;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEALTH = lookup.findVarHandle(Enemy.class, "health", int.class);
+            RELEASED = lookup.findVarHandle(Enemy.class, "released", boolean.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
 
     protected String name;
     protected int health;
     protected int damage;
     protected int defense;
     protected int speed;
-    protected String element;
+    protected Element element;
     protected List<Ability> abilities;
     protected LootTable lootTable;
-    protected String aiBehavior;
+    protected AIBehavior aiBehavior;
+
+    // Registry template this enemy was spawned from and the registry generation
+    // that template was published in; copied to every clone for free.
+    protected String templateKey;
+    protected long generation;
+
+    // 0 for a built enemy, +1 for every clone step away from it
+    protected int cloneDepth;
+
+    // Bumped by reinitFrom: the same object then stands for a new enemy
+    private int incarnation;
+
+    // Set while the enemy sits in an EnemyRecycler free list
+    private boolean released;
+
+    // True while the abilities list is shared with a prototype or clone.
+    protected boolean abilitiesShared;
+
+    // Cached read-only view of abilities; rebuilt only when the list is replaced.
+    // Source and view sit in one immutable holder, so a reader racing with
+    // another reader (shared templates) never pairs a view with the wrong list.
+    private AbilitiesView abilitiesView;
 
     protected Enemy() {
         this.abilities = new ArrayList<>();
@@ -30,18 +71,113 @@ public abstract class Enemy {
         return health;
     }
 
+    // Volatile read, for code that races with applyDamage from other threads
+    protected int readHealth() {
+        return (int) HEALTH.getVolatile(this);
+    }
+
+    public boolean isAlive() {
+        return readHealth() > 0;
+    }
+
+    public int getDamage() {
+        return damage;
+    }
+
+    public int getDefense() {
+        return defense;
+    }
+
+    public int getSpeed() {
+        return speed;
+    }
+
+    // Unmodifiable live view, no copy per call
     public List<Ability> getAbilities() {
-        return new ArrayList<>(abilities);
+        List<Ability> list = abilities;
+        AbilitiesView cached = abilitiesView;
+        if (cached == null || cached.source != list) {
+            cached = new AbilitiesView(list);
+            abilitiesView = cached;
+        }
+        return cached.view;
+    }
+
+    private static final class AbilitiesView {
+        final List<Ability> source;
+        final List<Ability> view;
+
+        AbilitiesView(List<Ability> source) {
+            this.source = source;
+            this.view = Collections.unmodifiableList(source);
+        }
+    }
+
+    public int abilityCount() {
+        return abilities.size();
+    }
+
+    public Ability abilityAt(int index) {
+        return abilities.get(index);
+    }
+
+    // Indexed loop, so no iterator is allocated
+    public void forEachAbility(Consumer<? super Ability> action) {
+        List<Ability> list = abilities;
+        for (int i = 0, n = list.size(); i < n; i++) {
+            action.accept(list.get(i));
+        }
     }
 
     public LootTable getLootTable() {
         return lootTable;
     }
 
+    public String getTemplateKey() {
+        return templateKey;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public int getCloneDepth() {
+        return cloneDepth;
+    }
+
+    // 0 until the first reinitFrom; StatePublisher gives each incarnation its own id
+    public int getIncarnation() {
+        return incarnation;
+    }
+
+    public boolean isReleased() {
+        return (boolean) RELEASED.getVolatile(this);
+    }
+
+    // Called by EnemyRecycler.release. False if the enemy was already released and
+    // not handed out again since; reinitFrom and clone() start out unreleased.
+    public boolean markReleased() {
+        return RELEASED.compareAndSet(this, false, true);
+    }
+
+    // Called by EnemyRegistry on its private template copy before publishing it
+    public void setOrigin(String templateKey, long generation) {
+        this.templateKey = templateKey;
+        this.generation = generation;
+    }
+
     public String getAiBehavior() {
+        return aiBehavior == null ? null : aiBehavior.name();
+    }
+
+    public AIBehavior getAiBehaviorType() {
         return aiBehavior;
     }
 
+    public Element getElementType() {
+        return element;
+    }
+
     public void display() {
         System.out.println("Enemy: " + name);
         System.out.println("Health: " + health);
@@ -51,8 +187,8 @@ public abstract class Enemy {
         System.out.println("Element: " + element);
         System.out.println("AI: " + aiBehavior);
         System.out.println("Abilities:");
-        for (Ability a : abilities) {
-            System.out.println(" - " + a.getName());
+        for (int i = 0; i < abilities.size(); i++) {
+            System.out.println(" - " + abilities.get(i).getName());
         }
         System.out.println("Loot: " + lootTable.getItems());
     }
@@ -60,7 +196,69 @@ public abstract class Enemy {
     // PROTOTYPE
     public abstract Enemy clone();
 
+    // Shallow copy: the clone shares the abilities list and loot table with this
+    // enemy and only copies the list when one side first adds an ability.
+    protected Enemy shareCopy() {
+        if (!abilitiesShared) {
+            abilitiesShared = true;
+        }
+        SpawnMetrics metrics = Metrics.get();
+        if (!metrics.isEnabled()) {
+            return rawCopy();
+        }
+        long before = metrics.measuresAllocation() ? Metrics.threadAllocatedBytes() : -1;
+        Enemy copy = rawCopy();
+        metrics.recordClone(copy.cloneDepth, before < 0 ? -1 : Metrics.threadAllocatedBytes() - before);
+        return copy;
+    }
+
+    private Enemy rawCopy() {
+        try {
+            Enemy copy = (Enemy) super.clone();
+            copy.cloneDepth++;
+            copy.incarnation = 0;
+            copy.released = false;
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    // Turns this enemy back into a fresh copy of prototype, as prototype.clone()
+    // would, without allocating. Used by EnemyRecycler for pooled enemies.
+    public void reinitFrom(Enemy prototype) {
+        if (prototype.getClass() != getClass()) {
+            throw new IllegalArgumentException("Cannot reinit " + getClass().getSimpleName()
+                    + " from " + prototype.getClass().getSimpleName());
+        }
+        if (!prototype.abilitiesShared) {
+            prototype.abilitiesShared = true;
+        }
+        setCoreStatsInternal(prototype.name, prototype.health, prototype.damage,
+                prototype.defense, prototype.speed, prototype.element, prototype.aiBehavior);
+        abilities = prototype.abilities;
+        abilitiesShared = true;
+        lootTable = prototype.lootTable;
+        templateKey = prototype.templateKey;
+        generation = prototype.generation;
+        cloneDepth = prototype.cloneDepth + 1;
+        incarnation++;
+        RELEASED.setVolatile(this, false);
+    }
+
+    protected void ensureOwnAbilities() {
+        if (abilitiesShared) {
+            List<Ability> own = new ArrayList<>(abilities.size() + 1);
+            for (Ability a : abilities) {
+                own.add(a.clone());
+            }
+            abilities = own;
+            abilitiesShared = false;
+        }
+    }
+
     protected void addAbilityInternal(Ability ability) {
+        ensureOwnAbilities();
         this.abilities.add(ability);
     }
 
@@ -70,7 +268,7 @@ public abstract class Enemy {
 
     protected void setCoreStatsInternal(String name, int health, int damage,
                               int defense, int speed,
-                              String element, String aiBehavior) {
+                              Element element, AIBehavior aiBehavior) {
         this.name = name;
         this.health = health;
         this.damage = damage;
@@ -80,19 +278,53 @@ public abstract class Enemy {
         this.aiBehavior = aiBehavior;
     }
 
+    // ---------- Concurrent damage ----------
+
+    // Lock-free; any number of threads may hit the same enemy at once. Health stops
+    // at 0, and only the hit that takes it there returns true, so exactly one
+    // caller sees the killing blow. Hits on a dead enemy change nothing.
+    public boolean applyDamage(int amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Damage must not be negative: " + amount);
+        }
+        int current = readHealth();
+        while (current > 0) {
+            int next = amount >= current ? 0 : current - amount;
+            int witness = (int) HEALTH.compareAndExchange(this, current, next);
+            if (witness == current) {
+                return next == 0;
+            }
+            current = witness;
+        }
+        return false;
+    }
+
     // ---------- Prototype helpers ----------
 
     public void multiplyStats(double multiplier) {
-        this.health = (int) (this.health * multiplier);
-        this.damage = (int) (this.damage * multiplier);
-        this.defense = (int) (this.defense * multiplier);
+        multiplyStats(multiplier, multiplier, multiplier);
+    }
+
+    public void multiplyStats(double healthMultiplier, double damageMultiplier, double defenseMultiplier) {
+        this.health = (int) (this.health * healthMultiplier);
+        this.damage = (int) (this.damage * damageMultiplier);
+        this.defense = (int) (this.defense * defenseMultiplier);
+    }
+
+    public void setName(String name) {
+        this.name = name;
     }
 
     public void setElement(String element) {
+        this.element = Element.of(element);
+    }
+
+    public void setElement(Element element) {
         this.element = element;
     }
 
     public void addAbility(Ability ability) {
+        ensureOwnAbilities();
         this.abilities.add(ability);
     }
 }
\ No newline at end of file
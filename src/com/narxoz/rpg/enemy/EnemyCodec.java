@@ -0,0 +1,812 @@
+package com.narxoz.rpg.enemy;
+
+import com.narxoz.rpg.combat.Ability;
+import com.narxoz.rpg.combat.AbilityType;
+import com.narxoz.rpg.loot.DropTable;
+import com.narxoz.rpg.loot.FireLootTable;
+import com.narxoz.rpg.loot.IceLootTable;
+import com.narxoz.rpg.loot.LootTable;
+import com.narxoz.rpg.loot.LootTables;
+import com.narxoz.rpg.loot.Rarity;
+import com.narxoz.rpg.loot.ShadowLootTable;
+import com.narxoz.rpg.loot.WeightedLootTable;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Compact, versioned binary form of a batch of enemies, for checkpoints and
+// hand-off between nodes.
+//
+//   header       MAGIC (int), VERSION (u16), flags (u16, reserved), bodyLength (int)
+//   strings      count, count x (byte length, UTF-8 bytes)
+//   abilities    count, count x (type, damage, parameter)
+//   abilitySets  count, count x (size, size x ability index)
+//   lootTables   count, count x (kind, catalog id string | drop table)
+//   phaseTables  count, count x (size, size x (phase, threshold))
+//   enemies      count, count x enemy record
+//
+// Everything after the header is a varint (signed values zigzag-encoded).
+// Abilities are written by catalog type plus stats and built-in loot tables by
+// catalog id; both come back as the shared flyweights. Ability lists, loot and
+// phase tables shared by clones are written once per batch, so a wave of clones
+// costs a few bytes per enemy and decodes back into enemies that share them again.
+// Phase listeners are not part of the snapshot.
+//
+// encodeInstance/decodeInstance write a single enemy as the fields that differ
+// from a base enemy (usually its registry template), for stores that index and
+// restore enemies one at a time.
+public final class EnemyCodec {
+
+    public static final int MAGIC = 0x52504745; // "RPGE"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 12;
+
+    private static final int KIND_BASIC = 0;
+    private static final int KIND_GOBLIN = 1;
+    private static final int KIND_DRAGON = 2;
+
+    private static final int LOOT_BUILTIN = 0;
+    private static final int LOOT_WEIGHTED = 1;
+
+    // Override mask bits of an instance record
+    private static final int NAME = 1;
+    private static final int HEALTH = 1 << 1;
+    private static final int DAMAGE = 1 << 2;
+    private static final int DEFENSE = 1 << 3;
+    private static final int SPEED = 1 << 4;
+    private static final int ELEMENT = 1 << 5;
+    private static final int AI = 1 << 6;
+    private static final int ABILITIES = 1 << 7;
+    private static final int LOOT = 1 << 8;
+    private static final int ORIGIN = 1 << 9;
+    private static final int PHASES = 1 << 10;
+    private static final int CHECKED_PHASE = 1 << 11;
+
+    private EnemyCodec() {
+    }
+
+    // -------------------------
+    // ENCODE
+    // -------------------------
+    // Exact-size heap buffer, flipped and ready to read or write to a channel
+    public static ByteBuffer encode(List<? extends Enemy> enemies) {
+        Sink body = encodeBody(enemies);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + body.size);
+        writeBatch(body, buffer);
+        return buffer.flip();
+    }
+
+    // Writes the batch at the buffer's position; BufferOverflowException if it does not fit
+    public static void encode(List<? extends Enemy> enemies, ByteBuffer out) {
+        writeBatch(encodeBody(enemies), out);
+    }
+
+    public static void write(List<? extends Enemy> enemies, WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = encode(enemies);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void writeBatch(Sink body, ByteBuffer out) {
+        out.putInt(MAGIC);
+        out.putShort((short) VERSION);
+        out.putShort((short) 0);
+        out.putInt(body.size);
+        out.put(body.bytes, 0, body.size);
+    }
+
+    private static Sink encodeBody(List<? extends Enemy> enemies) {
+        Dictionary dictionary = new Dictionary();
+        Sink records = new Sink(enemies.size() * 16);
+        records.writeVarInt(enemies.size());
+        for (int i = 0, n = enemies.size(); i < n; i++) {
+            Enemy enemy = enemies.get(i);
+            int kind = kindOf(enemy);
+            records.writeVarInt(kind);
+            records.writeVarInt(dictionary.string(enemy.name));
+            records.writeSigned(enemy.health);
+            records.writeSigned(enemy.damage);
+            records.writeSigned(enemy.defense);
+            records.writeSigned(enemy.speed);
+            records.writeVarInt(dictionary.string(enemy.element == null ? null : enemy.element.name()));
+            records.writeVarInt(dictionary.string(enemy.aiBehavior == null ? null : enemy.aiBehavior.name()));
+            records.writeVarInt(dictionary.abilitySet(enemy.abilities));
+            records.writeVarInt(dictionary.loot(enemy.lootTable));
+            records.writeVarInt(dictionary.string(enemy.templateKey));
+            records.writeSignedLong(enemy.generation);
+            if (kind == KIND_DRAGON) {
+                DragonBoss boss = (DragonBoss) enemy;
+                records.writeVarInt(dictionary.phases(boss.getPhases()));
+                records.writeSigned(boss.getCheckedPhaseInternal());
+            }
+        }
+        Sink body = dictionary.write(records.size + 64);
+        body.write(records);
+        return body;
+    }
+
+    private static int kindOf(Enemy enemy) {
+        Class<?> type = enemy.getClass();
+        if (type == BasicEnemy.class) {
+            return KIND_BASIC;
+        }
+        if (type == Goblin.class) {
+            return KIND_GOBLIN;
+        }
+        if (type == DragonBoss.class) {
+            return KIND_DRAGON;
+        }
+        throw new IllegalArgumentException("Unsupported enemy type: " + type.getName());
+    }
+
+    // Per-batch tables; index 0 of every nullable reference means null
+    private static final class Dictionary {
+        final Map<String, Integer> strings = new HashMap<>();
+        final List<String> stringList = new ArrayList<>();
+        final Map<Ability, Integer> abilities = new IdentityHashMap<>();
+        final List<Ability> abilityList = new ArrayList<>();
+        final Map<List<Ability>, Integer> setsByIdentity = new IdentityHashMap<>();
+        final Map<List<Ability>, Integer> setsByContent = new HashMap<>();
+        final List<List<Ability>> setList = new ArrayList<>();
+        final Map<LootTable, Integer> loot = new IdentityHashMap<>();
+        final List<LootTable> lootList = new ArrayList<>();
+        final Map<PhaseTable, Integer> phases = new IdentityHashMap<>();
+        final List<PhaseTable> phaseList = new ArrayList<>();
+
+        int string(String value) {
+            if (value == null) {
+                return 0;
+            }
+            Integer id = strings.get(value);
+            if (id == null) {
+                stringList.add(value);
+                id = stringList.size();
+                strings.put(value, id);
+            }
+            return id;
+        }
+
+        int abilitySet(List<Ability> set) {
+            Integer id = setsByIdentity.get(set);
+            if (id == null) {
+                id = setsByContent.get(set);
+                if (id == null) {
+                    List<Ability> copy = List.copyOf(set);
+                    id = setList.size();
+                    setList.add(copy);
+                    setsByContent.put(copy, id);
+                    for (Ability ability : copy) {
+                        ability(ability);
+                    }
+                }
+                setsByIdentity.put(set, id);
+            }
+            return id;
+        }
+
+        int ability(Ability ability) {
+            Integer id = abilities.get(ability);
+            if (id == null) {
+                AbilityType.of(ability); // rejects unsupported abilities up front
+                id = abilityList.size();
+                abilityList.add(ability);
+                abilities.put(ability, id);
+            }
+            return id;
+        }
+
+        int loot(LootTable table) {
+            if (table == null) {
+                return 0;
+            }
+            Integer id = loot.get(table);
+            if (id == null) {
+                if (builtinId(table) == null && !(table instanceof WeightedLootTable)) {
+                    throw new IllegalArgumentException("Unsupported loot table: " + table.getClass().getName());
+                }
+                lootList.add(table);
+                id = lootList.size();
+                loot.put(table, id);
+                if (table instanceof WeightedLootTable) {
+                    DropTable drops = table.getDropTable();
+                    for (int i = 0; i < drops.itemCount(); i++) {
+                        string(drops.itemAt(i));
+                    }
+                } else {
+                    string(builtinId(table));
+                }
+            }
+            return id;
+        }
+
+        int phases(PhaseTable table) {
+            Integer id = phases.get(table);
+            if (id == null) {
+                id = phaseList.size();
+                phaseList.add(table);
+                phases.put(table, id);
+            }
+            return id;
+        }
+
+        Sink write(int capacity) {
+            Sink out = new Sink(capacity);
+            out.writeVarInt(stringList.size());
+            for (String value : stringList) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.writeVarInt(bytes.length);
+                out.write(bytes, bytes.length);
+            }
+            out.writeVarInt(abilityList.size());
+            for (Ability ability : abilityList) {
+                out.writeVarInt(AbilityType.of(ability).ordinal());
+                out.writeSigned(ability.getDamage());
+                out.writeSigned(AbilityType.parameter(ability));
+            }
+            out.writeVarInt(setList.size());
+            for (List<Ability> set : setList) {
+                out.writeVarInt(set.size());
+                for (Ability ability : set) {
+                    out.writeVarInt(abilities.get(ability));
+                }
+            }
+            out.writeVarInt(lootList.size());
+            for (LootTable table : lootList) {
+                String builtin = builtinId(table);
+                if (builtin != null) {
+                    out.writeVarInt(LOOT_BUILTIN);
+                    out.writeVarInt(string(builtin));
+                } else {
+                    DropTable drops = table.getDropTable();
+                    out.writeVarInt(LOOT_WEIGHTED);
+                    out.writeSigned(drops.getGoldMin());
+                    out.writeSigned(drops.getGoldMax());
+                    out.writeSigned(drops.getExperienceMin());
+                    out.writeSigned(drops.getExperienceMax());
+                    out.writeVarInt(drops.itemCount());
+                    for (int i = 0; i < drops.itemCount(); i++) {
+                        out.writeVarInt(string(drops.itemAt(i)));
+                        out.writeVarInt(drops.weightAt(i));
+                        out.writeVarInt(drops.rarityAt(i).ordinal());
+                    }
+                }
+            }
+            out.writeVarInt(phaseList.size());
+            for (PhaseTable table : phaseList) {
+                out.writeVarInt(table.size());
+                for (int i = 0; i < table.size(); i++) {
+                    out.writeSigned(table.phaseAt(i));
+                    out.writeSigned(table.thresholdAt(i));
+                }
+            }
+            return out;
+        }
+    }
+
+    private static String builtinId(LootTable table) {
+        if (table instanceof FireLootTable) {
+            return "fire";
+        }
+        if (table instanceof IceLootTable) {
+            return "ice";
+        }
+        if (table instanceof ShadowLootTable) {
+            return "shadow";
+        }
+        return null;
+    }
+
+    // -------------------------
+    // DECODE
+    // -------------------------
+    // Reads one batch at the buffer's position and leaves the position after it.
+    public static List<Enemy> decode(ByteBuffer in) {
+        if (in.remaining() < HEADER_SIZE || in.getInt(in.position()) != MAGIC) {
+            throw new IllegalStateException("Not an enemy batch");
+        }
+        int version = Short.toUnsignedInt(in.getShort(in.position() + 4));
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported enemy batch version: " + version);
+        }
+        int bodyLength = in.getInt(in.position() + 8);
+        if (bodyLength < 0 || in.remaining() - HEADER_SIZE < bodyLength) {
+            throw new IllegalStateException("Truncated enemy batch");
+        }
+        int start = in.position() + HEADER_SIZE;
+        ByteBuffer body = in.slice(start, bodyLength);
+        in.position(start + bodyLength);
+        try {
+            return decodeBody(body);
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // Bad indexes, enum ordinals or values the builders refuse
+            throw new IllegalStateException("Corrupt enemy batch", e);
+        }
+    }
+
+    // Returns null at end of stream
+    public static List<Enemy> read(ReadableByteChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (!readFully(channel, header, true)) {
+            return null;
+        }
+        int bodyLength = header.getInt(8);
+        if (header.getInt(0) != MAGIC || bodyLength < 0) {
+            throw new IllegalStateException("Not an enemy batch");
+        }
+        ByteBuffer batch = ByteBuffer.allocate(HEADER_SIZE + bodyLength);
+        batch.put(header.flip());
+        readFully(channel, batch, false);
+        return decode(batch.flip());
+    }
+
+    private static boolean readFully(ReadableByteChannel channel, ByteBuffer buffer,
+                                     boolean eofAllowed) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                if (eofAllowed && buffer.position() == 0) {
+                    return false;
+                }
+                throw new IllegalStateException("Truncated enemy batch");
+            }
+        }
+        return true;
+    }
+
+    private static List<Enemy> decodeBody(ByteBuffer in) {
+        String[] strings = new String[readCount(in) + 1];
+        for (int i = 1; i < strings.length; i++) {
+            byte[] bytes = new byte[readCount(in)];
+            in.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        Ability[] abilities = new Ability[readCount(in)];
+        AbilityType[] types = AbilityType.values();
+        for (int i = 0; i < abilities.length; i++) {
+            AbilityType type = types[readVarInt(in)];
+            abilities[i] = type.create(readSigned(in), readSigned(in));
+        }
+
+        List<List<Ability>> sets = new ArrayList<>();
+        for (int i = 0, n = readCount(in); i < n; i++) {
+            Ability[] set = new Ability[readCount(in)];
+            for (int a = 0; a < set.length; a++) {
+                set[a] = abilities[readVarInt(in)];
+            }
+            sets.add(List.of(set));
+        }
+
+        LootTable[] loot = new LootTable[readCount(in) + 1];
+        for (int i = 1; i < loot.length; i++) {
+            if (readVarInt(in) == LOOT_BUILTIN) {
+                String id = strings[readVarInt(in)];
+                loot[i] = LootTables.named(id);
+                if (loot[i] == null) {
+                    throw new IllegalStateException("Unknown built-in loot table: " + id);
+                }
+            } else {
+                DropTable.Builder drops = DropTable.builder()
+                        .gold(readSigned(in), readSigned(in))
+                        .experience(readSigned(in), readSigned(in));
+                for (int item = 0, n = readCount(in); item < n; item++) {
+                    drops.item(strings[readVarInt(in)], readVarInt(in), Rarity.values()[readVarInt(in)]);
+                }
+                loot[i] = new WeightedLootTable(drops.build());
+            }
+        }
+
+        PhaseTable[] phases = new PhaseTable[readCount(in)];
+        for (int i = 0; i < phases.length; i++) {
+            PhaseTable table = PhaseTable.EMPTY;
+            for (int p = 0, n = readCount(in); p < n; p++) {
+                table = table.withPhase(readSigned(in), readSigned(in));
+            }
+            phases[i] = table;
+        }
+
+        // Elements and AI behaviors resolved once per string
+        Element[] elements = new Element[strings.length];
+        AIBehavior[] behaviors = new AIBehavior[strings.length];
+
+        int count = readCount(in);
+        List<Enemy> enemies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int kind = readVarInt(in);
+            Enemy enemy;
+            switch (kind) {
+                case KIND_BASIC:
+                    enemy = new BasicEnemy();
+                    break;
+                case KIND_GOBLIN:
+                    enemy = new Goblin();
+                    break;
+                case KIND_DRAGON:
+                    enemy = new DragonBoss();
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown enemy kind: " + kind);
+            }
+            String name = strings[readVarInt(in)];
+            int health = readSigned(in);
+            int damage = readSigned(in);
+            int defense = readSigned(in);
+            int speed = readSigned(in);
+            int element = readVarInt(in);
+            if (element != 0 && elements[element] == null) {
+                elements[element] = Element.of(strings[element]);
+            }
+            int behavior = readVarInt(in);
+            if (behavior != 0 && behaviors[behavior] == null) {
+                behaviors[behavior] = AIBehavior.of(strings[behavior]);
+            }
+            enemy.setCoreStatsInternal(name, health, damage, defense, speed,
+                    elements[element], behaviors[behavior]);
+            enemy.abilities = sets.get(readVarInt(in));
+            enemy.abilitiesShared = true;
+            enemy.setLootTableInternal(loot[readVarInt(in)]);
+            enemy.setOrigin(strings[readVarInt(in)], readSignedLong(in));
+            if (kind == KIND_DRAGON) {
+                DragonBoss boss = (DragonBoss) enemy;
+                boss.setPhasesInternal(phases[readVarInt(in)]);
+                boss.setCheckedPhaseInternal(readSigned(in));
+            }
+            enemies.add(enemy);
+        }
+        return enemies;
+    }
+
+    // -------------------------
+    // SINGLE INSTANCE
+    // -------------------------
+    // Writes enemy as its kind plus the fields that differ from base. base must be
+    // null or of the same class; with null every field is compared to a blank enemy.
+    public static void encodeInstance(Enemy enemy, Enemy base, DataOutput out) throws IOException {
+        int kind = kindOf(enemy);
+        if (base == null) {
+            base = blank(kind);
+        } else if (base.getClass() != enemy.getClass()) {
+            throw new IllegalArgumentException("Base " + base.getClass().getSimpleName()
+                    + " does not match " + enemy.getClass().getSimpleName());
+        }
+        int mask = 0;
+        mask |= Objects.equals(enemy.name, base.name) ? 0 : NAME;
+        mask |= enemy.health == base.health ? 0 : HEALTH;
+        mask |= enemy.damage == base.damage ? 0 : DAMAGE;
+        mask |= enemy.defense == base.defense ? 0 : DEFENSE;
+        mask |= enemy.speed == base.speed ? 0 : SPEED;
+        mask |= enemy.element == base.element ? 0 : ELEMENT;
+        mask |= enemy.aiBehavior == base.aiBehavior ? 0 : AI;
+        mask |= enemy.abilities == base.abilities || enemy.abilities.equals(base.abilities) ? 0 : ABILITIES;
+        mask |= enemy.lootTable == base.lootTable ? 0 : LOOT;
+        mask |= Objects.equals(enemy.templateKey, base.templateKey)
+                && enemy.generation == base.generation ? 0 : ORIGIN;
+        if (kind == KIND_DRAGON) {
+            DragonBoss boss = (DragonBoss) enemy;
+            DragonBoss baseBoss = (DragonBoss) base;
+            mask |= boss.getPhases() == baseBoss.getPhases() ? 0 : PHASES;
+            mask |= boss.getCheckedPhaseInternal() == baseBoss.getCheckedPhaseInternal() ? 0 : CHECKED_PHASE;
+        }
+
+        writeVarLong(out, kind);
+        writeVarLong(out, mask);
+        if ((mask & NAME) != 0) {
+            writeString(out, enemy.name);
+        }
+        if ((mask & HEALTH) != 0) {
+            writeSigned(out, enemy.health);
+        }
+        if ((mask & DAMAGE) != 0) {
+            writeSigned(out, enemy.damage);
+        }
+        if ((mask & DEFENSE) != 0) {
+            writeSigned(out, enemy.defense);
+        }
+        if ((mask & SPEED) != 0) {
+            writeSigned(out, enemy.speed);
+        }
+        if ((mask & ELEMENT) != 0) {
+            writeString(out, enemy.element == null ? null : enemy.element.name());
+        }
+        if ((mask & AI) != 0) {
+            writeString(out, enemy.aiBehavior == null ? null : enemy.aiBehavior.name());
+        }
+        if ((mask & ABILITIES) != 0) {
+            writeVarLong(out, enemy.abilities.size());
+            for (Ability ability : enemy.abilities) {
+                writeVarLong(out, AbilityType.of(ability).ordinal());
+                writeSigned(out, ability.getDamage());
+                writeSigned(out, AbilityType.parameter(ability));
+            }
+        }
+        if ((mask & LOOT) != 0) {
+            writeLoot(out, enemy.lootTable);
+        }
+        if ((mask & ORIGIN) != 0) {
+            writeString(out, enemy.templateKey);
+            writeSigned(out, enemy.generation);
+        }
+        if ((mask & PHASES) != 0) {
+            PhaseTable phases = ((DragonBoss) enemy).getPhases();
+            writeVarLong(out, phases.size());
+            for (int i = 0; i < phases.size(); i++) {
+                writeSigned(out, phases.phaseAt(i));
+                writeSigned(out, phases.thresholdAt(i));
+            }
+        }
+        if ((mask & CHECKED_PHASE) != 0) {
+            writeSigned(out, ((DragonBoss) enemy).getCheckedPhaseInternal());
+        }
+    }
+
+    // Reads one instance record at the buffer's position. base must be the same
+    // enemy (or an equal copy) that was passed to encodeInstance; it is cloned, not changed.
+    public static Enemy decodeInstance(Enemy base, ByteBuffer in) {
+        try {
+            return readInstance(base, in);
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Corrupt enemy record", e);
+        }
+    }
+
+    private static Enemy readInstance(Enemy base, ByteBuffer in) {
+        int kind = readVarInt(in);
+        int mask = readVarInt(in);
+        Enemy enemy = base != null ? base.clone() : blank(kind);
+        if (kindOf(enemy) != kind) {
+            throw new IllegalStateException("Instance record of kind " + kind
+                    + " does not match base " + enemy.getClass().getSimpleName());
+        }
+        if ((mask & NAME) != 0) {
+            enemy.name = readString(in);
+        }
+        if ((mask & HEALTH) != 0) {
+            enemy.health = readSigned(in);
+        }
+        if ((mask & DAMAGE) != 0) {
+            enemy.damage = readSigned(in);
+        }
+        if ((mask & DEFENSE) != 0) {
+            enemy.defense = readSigned(in);
+        }
+        if ((mask & SPEED) != 0) {
+            enemy.speed = readSigned(in);
+        }
+        if ((mask & ELEMENT) != 0) {
+            String element = readString(in);
+            enemy.element = element == null ? null : Element.of(element);
+        }
+        if ((mask & AI) != 0) {
+            String behavior = readString(in);
+            enemy.aiBehavior = behavior == null ? null : AIBehavior.of(behavior);
+        }
+        if ((mask & ABILITIES) != 0) {
+            int count = readCount(in);
+            List<Ability> abilities = new ArrayList<>(count);
+            AbilityType[] types = AbilityType.values();
+            for (int i = 0; i < count; i++) {
+                AbilityType type = types[readVarInt(in)];
+                abilities.add(type.create(readSigned(in), readSigned(in)));
+            }
+            enemy.abilities = abilities;
+            enemy.abilitiesShared = false;
+        }
+        if ((mask & LOOT) != 0) {
+            enemy.lootTable = readLoot(in);
+        }
+        if ((mask & ORIGIN) != 0) {
+            enemy.setOrigin(readString(in), readSignedLong(in));
+        }
+        if ((mask & PHASES) != 0) {
+            PhaseTable phases = PhaseTable.EMPTY;
+            for (int i = 0, n = readCount(in); i < n; i++) {
+                phases = phases.withPhase(readSigned(in), readSigned(in));
+            }
+            ((DragonBoss) enemy).setPhasesInternal(phases);
+        }
+        if ((mask & CHECKED_PHASE) != 0) {
+            ((DragonBoss) enemy).setCheckedPhaseInternal(readSigned(in));
+        }
+        return enemy;
+    }
+
+    private static Enemy blank(int kind) {
+        switch (kind) {
+            case KIND_BASIC:
+                return new BasicEnemy();
+            case KIND_GOBLIN:
+                return new Goblin();
+            case KIND_DRAGON:
+                return new DragonBoss();
+            default:
+                throw new IllegalStateException("Unknown enemy kind: " + kind);
+        }
+    }
+
+    private static void writeLoot(DataOutput out, LootTable table) throws IOException {
+        if (table == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        String builtin = builtinId(table);
+        if (builtin != null) {
+            writeVarLong(out, 1 + LOOT_BUILTIN);
+            writeString(out, builtin);
+            return;
+        }
+        if (!(table instanceof WeightedLootTable)) {
+            throw new IllegalArgumentException("Unsupported loot table: " + table.getClass().getName());
+        }
+        DropTable drops = table.getDropTable();
+        writeVarLong(out, 1 + LOOT_WEIGHTED);
+        writeSigned(out, drops.getGoldMin());
+        writeSigned(out, drops.getGoldMax());
+        writeSigned(out, drops.getExperienceMin());
+        writeSigned(out, drops.getExperienceMax());
+        writeVarLong(out, drops.itemCount());
+        for (int i = 0; i < drops.itemCount(); i++) {
+            writeString(out, drops.itemAt(i));
+            writeVarLong(out, drops.weightAt(i));
+            writeVarLong(out, drops.rarityAt(i).ordinal());
+        }
+    }
+
+    private static LootTable readLoot(ByteBuffer in) {
+        int kind = readVarInt(in);
+        if (kind == 0) {
+            return null;
+        }
+        if (kind - 1 == LOOT_BUILTIN) {
+            String id = readString(in);
+            LootTable table = LootTables.named(id);
+            if (table == null) {
+                throw new IllegalStateException("Unknown built-in loot table: " + id);
+            }
+            return table;
+        }
+        DropTable.Builder drops = DropTable.builder()
+                .gold(readSigned(in), readSigned(in))
+                .experience(readSigned(in), readSigned(in));
+        for (int item = 0, n = readCount(in); item < n; item++) {
+            drops.item(readString(in), readVarInt(in), Rarity.values()[readVarInt(in)]);
+        }
+        return new WeightedLootTable(drops.build());
+    }
+
+    // Length + 1 (0 for null), then UTF-8 bytes
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length + 1L);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        long length = readVarLong(in);
+        if (length == 0) {
+            return null;
+        }
+        if (length < 0 || length - 1 > in.remaining()) {
+            throw new IllegalStateException("Corrupt string length " + (length - 1) + " with "
+                    + in.remaining() + " bytes left");
+        }
+        byte[] bytes = new byte[(int) length - 1];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeSigned(DataOutput out, long value) throws IOException {
+        writeVarLong(out, (value << 1) ^ (value >> 63));
+    }
+
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    // -------------------------
+    // VARINTS
+    // -------------------------
+    private static int readVarInt(ByteBuffer in) {
+        return (int) readVarLong(in);
+    }
+
+    // A length or element count. Every counted item takes at least one byte, so a
+    // count beyond what is left is corrupt; checked before anything is allocated.
+    private static int readCount(ByteBuffer in) {
+        long count = readVarLong(in);
+        if (count < 0 || count > in.remaining()) {
+            throw new IllegalStateException("Corrupt count " + count + " with "
+                    + in.remaining() + " bytes left");
+        }
+        return (int) count;
+    }
+
+    private static int readSigned(ByteBuffer in) {
+        int v = readVarInt(in);
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static long readSignedLong(ByteBuffer in) {
+        long v = readVarLong(in);
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    // Growable byte array with varint writers
+    private static final class Sink {
+        byte[] bytes;
+        int size;
+
+        Sink(int capacity) {
+            bytes = new byte[Math.max(capacity, 16)];
+        }
+
+        void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeSigned(int value) {
+            writeVarInt((value << 1) ^ (value >> 31));
+        }
+
+        void writeSignedLong(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeVarLong(long value) {
+            if (size + 10 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + 10));
+            }
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void write(byte[] source, int length) {
+            if (size + length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + length));
+            }
+            System.arraycopy(source, 0, bytes, size, length);
+            size += length;
+        }
+
+        void write(Sink other) {
+            write(other.bytes, other.size);
+        }
+    }
+}
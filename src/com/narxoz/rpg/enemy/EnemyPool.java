@@ -0,0 +1,330 @@
+package com.narxoz.rpg.enemy;
+
+import com.narxoz.rpg.combat.Ability;
+import com.narxoz.rpg.loot.LootTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Struct-of-arrays storage for large enemy populations.
+// Stats live in primitive columns indexed by slot. Element and AI are stored as
+// their ordinals (-1 for none); ability set and loot table as small ids into
+// per-pool lookup tables.
+// Slots are dense in [0, size()); compact() moves live enemies down, so slot
+// numbers are only stable between two compactions.
+public class EnemyPool {
+
+    private String[] names;
+    private int[] health;
+    private int[] damage;
+    private int[] defense;
+    private int[] speed;
+    private int[] elementIds;
+    private int[] aiIds;
+    private int[] abilitySetIds;
+    private int[] lootIds;
+    private int size;
+    private long compactions;
+
+    private final List<List<Ability>> abilitySets = new ArrayList<>();
+    private final Map<List<Ability>, Integer> abilitySetIndex = new HashMap<>();
+    private final List<LootTable> lootTables = new ArrayList<>();
+    private final Map<LootTable, Integer> lootIndex = new IdentityHashMap<>();
+
+    public EnemyPool() {
+        this(64);
+    }
+
+    public EnemyPool(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        names = new String[capacity];
+        health = new int[capacity];
+        damage = new int[capacity];
+        defense = new int[capacity];
+        speed = new int[capacity];
+        elementIds = new int[capacity];
+        aiIds = new int[capacity];
+        abilitySetIds = new int[capacity];
+        lootIds = new int[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // -------------------------
+    // ADD
+    // -------------------------
+    public int add(Enemy enemy) {
+        return spawn(enemy, 1);
+    }
+
+    // Adds count copies of the prototype and returns the slot of the first one.
+    public int spawn(Enemy prototype, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Spawn count must not be negative: " + count);
+        }
+        ensureCapacity(size + count);
+
+        int elementId = prototype.element == null ? -1 : prototype.element.ordinal();
+        int aiId = prototype.aiBehavior == null ? -1 : prototype.aiBehavior.ordinal();
+        int abilitySetId = internAbilities(prototype.abilities);
+        int lootId = internLoot(prototype.lootTable);
+
+        int first = size;
+        int end = size + count;
+        Arrays.fill(names, first, end, prototype.name);
+        Arrays.fill(health, first, end, prototype.health);
+        Arrays.fill(damage, first, end, prototype.damage);
+        Arrays.fill(defense, first, end, prototype.defense);
+        Arrays.fill(speed, first, end, prototype.speed);
+        Arrays.fill(elementIds, first, end, elementId);
+        Arrays.fill(aiIds, first, end, aiId);
+        Arrays.fill(abilitySetIds, first, end, abilitySetId);
+        Arrays.fill(lootIds, first, end, lootId);
+        size = end;
+        return first;
+    }
+
+    // -------------------------
+    // BULK OPERATIONS
+    // -------------------------
+    // Same rounding as Enemy.multiplyStats, applied to every slot.
+    public void multiplyStats(double multiplier) {
+        multiplyStats(0, size, multiplier);
+    }
+
+    public void multiplyStats(int from, int to, double multiplier) {
+        checkRange(from, to);
+        for (int i = from; i < to; i++) {
+            health[i] = (int) (health[i] * multiplier);
+        }
+        for (int i = from; i < to; i++) {
+            damage[i] = (int) (damage[i] * multiplier);
+        }
+        for (int i = from; i < to; i++) {
+            defense[i] = (int) (defense[i] * multiplier);
+        }
+    }
+
+    // Returns true if this hit took the enemy from alive to dead.
+    public boolean applyDamage(int slot, int amount) {
+        checkSlot(slot);
+        checkDamage(amount);
+        int before = health[slot];
+        int after = Math.max(before - amount, 0);
+        health[slot] = after;
+        return before > 0 && after == 0;
+    }
+
+    // Applies amounts[i] to slots[i] for the first length entries; returns the kill count.
+    // A negative amount rejects the whole batch before any of it is applied.
+    public int applyDamage(int[] slots, int[] amounts, int length) {
+        for (int i = 0; i < length; i++) {
+            checkDamage(amounts[i]);
+        }
+        int kills = 0;
+        for (int i = 0; i < length; i++) {
+            if (applyDamage(slots[i], amounts[i])) {
+                kills++;
+            }
+        }
+        return kills;
+    }
+
+    public int applyDamageToAll(int amount) {
+        checkDamage(amount);
+        int kills = 0;
+        for (int i = 0; i < size; i++) {
+            int before = health[i];
+            int after = Math.max(before - amount, 0);
+            health[i] = after;
+            if (before > 0 && after == 0) {
+                kills++;
+            }
+        }
+        return kills;
+    }
+
+    // Told about every survivor that compact() moves to a lower slot
+    @FunctionalInterface
+    public interface SlotMoveListener {
+        void onSlotMoved(int from, int to);
+    }
+
+    // Drops every dead slot (health <= 0), keeping the order of the survivors.
+    // Returns the number of removed slots.
+    public int compact() {
+        return compact(null);
+    }
+
+    // Same as compact(), reporting each moved survivor so callers that keep
+    // per-slot state (TickScheduler) can move theirs along.
+    public int compact(SlotMoveListener listener) {
+        int write = 0;
+        for (int read = 0; read < size; read++) {
+            if (health[read] <= 0) {
+                continue;
+            }
+            if (write != read) {
+                names[write] = names[read];
+                health[write] = health[read];
+                damage[write] = damage[read];
+                defense[write] = defense[read];
+                speed[write] = speed[read];
+                elementIds[write] = elementIds[read];
+                aiIds[write] = aiIds[read];
+                abilitySetIds[write] = abilitySetIds[read];
+                lootIds[write] = lootIds[read];
+                if (listener != null) {
+                    listener.onSlotMoved(read, write);
+                }
+            }
+            write++;
+        }
+        int removed = size - write;
+        Arrays.fill(names, write, size, null);
+        size = write;
+        if (removed > 0) {
+            compactions++;
+        }
+        return removed;
+    }
+
+    // Number of compactions that removed slots; slot numbers taken before a
+    // change of this value are no longer valid
+    public long getCompactions() {
+        return compactions;
+    }
+
+    // -------------------------
+    // VIEW
+    // -------------------------
+    // Builds a regular Enemy for this slot. The ability list is shared with the
+    // pool and copied by the enemy on its first addAbility.
+    // Pooled enemies come back as BasicEnemy; DragonBoss phases are not kept.
+    public Enemy materialize(int slot) {
+        checkSlot(slot);
+        BasicEnemy enemy = new BasicEnemy();
+        enemy.setCoreStatsInternal(
+                names[slot],
+                health[slot],
+                damage[slot],
+                defense[slot],
+                speed[slot],
+                elementIds[slot] < 0 ? null : Element.byOrdinal(elementIds[slot]),
+                aiIds[slot] < 0 ? null : AIBehavior.byOrdinal(aiIds[slot])
+        );
+        enemy.setLootTableInternal(lootTables.get(lootIds[slot]));
+        enemy.abilities = abilitySets.get(abilitySetIds[slot]);
+        enemy.abilitiesShared = true;
+        return enemy;
+    }
+
+    public String getName(int slot) {
+        checkSlot(slot);
+        return names[slot];
+    }
+
+    public int getHealth(int slot) {
+        checkSlot(slot);
+        return health[slot];
+    }
+
+    public int getDamage(int slot) {
+        checkSlot(slot);
+        return damage[slot];
+    }
+
+    public int getDefense(int slot) {
+        checkSlot(slot);
+        return defense[slot];
+    }
+
+    public int getSpeed(int slot) {
+        checkSlot(slot);
+        return speed[slot];
+    }
+
+    public int getElementId(int slot) {
+        checkSlot(slot);
+        return elementIds[slot];
+    }
+
+    public int getAiId(int slot) {
+        checkSlot(slot);
+        return aiIds[slot];
+    }
+
+    public int getAbilitySetId(int slot) {
+        checkSlot(slot);
+        return abilitySetIds[slot];
+    }
+
+    public List<Ability> abilitySet(int abilitySetId) {
+        return abilitySets.get(abilitySetId);
+    }
+
+    // -------------------------
+    // INTERNALS
+    // -------------------------
+    private int internAbilities(List<Ability> abilities) {
+        Integer id = abilitySetIndex.get(abilities);
+        if (id == null) {
+            List<Ability> set = List.copyOf(abilities);
+            id = abilitySets.size();
+            abilitySets.add(set);
+            abilitySetIndex.put(set, id);
+        }
+        return id;
+    }
+
+    private int internLoot(LootTable lootTable) {
+        Integer id = lootIndex.get(lootTable);
+        if (id == null) {
+            id = lootTables.size();
+            lootTables.add(lootTable);
+            lootIndex.put(lootTable, id);
+        }
+        return id;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= health.length) {
+            return;
+        }
+        int capacity = Math.max(required, health.length * 2);
+        names = Arrays.copyOf(names, capacity);
+        health = Arrays.copyOf(health, capacity);
+        damage = Arrays.copyOf(damage, capacity);
+        defense = Arrays.copyOf(defense, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        elementIds = Arrays.copyOf(elementIds, capacity);
+        aiIds = Arrays.copyOf(aiIds, capacity);
+        abilitySetIds = Arrays.copyOf(abilitySetIds, capacity);
+        lootIds = Arrays.copyOf(lootIds, capacity);
+    }
+
+    private void checkSlot(int slot) {
+        if (slot < 0 || slot >= size) {
+            throw new IndexOutOfBoundsException("Slot " + slot + " out of range [0, " + size + ")");
+        }
+    }
+
+    // Same rule as Enemy.applyDamage: a negative hit would heal
+    private static void checkDamage(int amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Damage must not be negative: " + amount);
+        }
+    }
+
+    private void checkRange(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of [0, " + size + ")");
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.narxoz.rpg.enemy;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+// Interns named values and hands out dense ordinals 0, 1, 2, ... in registration order.
+// Lookups are lock-free; only registering a new name takes the lock.
+final class OrdinalRegistry<T> {
+
+    private final Map<String, T> byName = new ConcurrentHashMap<>();
+    private final BiFunction<String, Integer, T> factory;
+    private volatile Object[] byOrdinal = new Object[0];
+
+    OrdinalRegistry(BiFunction<String, Integer, T> factory) {
+        this.factory = factory;
+    }
+
+    T of(String name) {
+        T value = byName.get(name);
+        return value != null ? value : register(name);
+    }
+
+    private synchronized T register(String name) {
+        T value = byName.get(name);
+        if (value == null) {
+            Object[] values = byOrdinal;
+            value = factory.apply(name, values.length);
+            Object[] grown = Arrays.copyOf(values, values.length + 1);
+            grown[values.length] = value;
+            byOrdinal = grown;
+            byName.put(name, value);
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    T byOrdinal(int ordinal) {
+        return (T) byOrdinal[ordinal];
+    }
+
+    int size() {
+        return byOrdinal.length;
+    }
+}
@@ -0,0 +1,11 @@
+package com.narxoz.rpg.enemy;
+
+// Told about every phase a boss enters, one step at a time: a hit that crosses
+// several thresholds reports each phase in turn, in threshold order, and each
+// exactly once even under concurrent hits. Calls for one boss never overlap.
+// Only if health goes back up (a stat change, not a hit) is the move back
+// reported as a single call.
+@FunctionalInterface
+public interface PhaseListener {
+    void onPhaseChange(DragonBoss boss, int fromPhase, int toPhase);
+}
@@ -0,0 +1,102 @@
+package com.narxoz.rpg.enemy;
+
+import java.util.Arrays;
+
+// Immutable boss phase table backed by one sorted long[].
+// Each entry packs (healthThreshold << 32 | phase), so the array is ordered by
+// threshold and a phase lookup is a binary search with no boxing.
+// A phase is active once health drops to or below its threshold; with several
+// candidates the one with the lowest threshold wins.
+public final class PhaseTable {
+
+    // "No phase active"; never a valid phase number, withPhase rejects it
+    public static final int NO_PHASE = 0;
+    public static final PhaseTable EMPTY = new PhaseTable(new long[0]);
+
+    private final long[] entries;
+
+    private PhaseTable(long[] entries) {
+        this.entries = entries;
+    }
+
+    // Returns a new table with the phase added or its threshold replaced.
+    public PhaseTable withPhase(int phase, int healthThreshold) {
+        if (phase == NO_PHASE) {
+            throw new IllegalArgumentException("Phase " + NO_PHASE + " is reserved for 'no phase'");
+        }
+        int existing = indexOfPhase(phase);
+        long entry = pack(healthThreshold, phase);
+        long[] next;
+        if (existing >= 0) {
+            next = entries.clone();
+            next[existing] = entry;
+            Arrays.sort(next);
+        } else {
+            int insertAt = lowerBound(entry);
+            next = new long[entries.length + 1];
+            System.arraycopy(entries, 0, next, 0, insertAt);
+            next[insertAt] = entry;
+            System.arraycopy(entries, insertAt, next, insertAt + 1, entries.length - insertAt);
+        }
+        return new PhaseTable(next);
+    }
+
+    // O(log n); returns NO_PHASE when health is above every threshold.
+    public int phaseFor(int health) {
+        int index = lowerBound((long) health << 32);
+        return index < entries.length ? phaseAt(index) : NO_PHASE;
+    }
+
+    // Index of the entry active at this health, size() when none is.
+    public int indexFor(int health) {
+        return lowerBound((long) health << 32);
+    }
+
+    // Threshold of the given phase, or -1 if the phase is not defined.
+    public int thresholdOf(int phase) {
+        int index = indexOfPhase(phase);
+        return index < 0 ? -1 : thresholdAt(index);
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    // Entries ordered by ascending threshold
+    public int phaseAt(int index) {
+        return (int) entries[index];
+    }
+
+    public int thresholdAt(int index) {
+        return (int) (entries[index] >> 32);
+    }
+
+    // Index of the given phase, or -1 if the phase is not defined.
+    public int indexOfPhase(int phase) {
+        for (int i = 0; i < entries.length; i++) {
+            if (phaseAt(i) == phase) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // First index whose entry is >= key
+    private int lowerBound(long key) {
+        int low = 0;
+        int high = entries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long pack(int healthThreshold, int phase) {
+        return ((long) healthThreshold << 32) | (phase & 0xFFFFFFFFL);
+    }
+}
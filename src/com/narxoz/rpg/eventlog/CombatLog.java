@@ -0,0 +1,20 @@
+package com.narxoz.rpg.eventlog;
+
+// Process-wide EventLog used by the spawn, combat and loot paths; none until
+// one is installed. Call sites read it once and skip logging when it is null.
+public final class CombatLog {
+
+    private static volatile EventLog current;
+
+    private CombatLog() {
+    }
+
+    public static EventLog get() {
+        return current;
+    }
+
+    // null turns logging off; the caller still owns (and closes) the log
+    public static void install(EventLog log) {
+        current = log;
+    }
+}
@@ -0,0 +1,328 @@
+package com.narxoz.rpg.eventlog;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Binary audit log of combat events (big-endian):
+//
+//   file header  MAGIC, VERSION
+//   block        one per writer batch:
+//     header     BLOCK_MAGIC, nameCount, eventCount
+//     names      nameCount x (int id, u16 length, UTF-8 bytes), first use of each name
+//     events     eventCount x EventRing record (EventRing.RECORD_BYTES each)
+//
+// Producers write to an EventRing of their own thread (taken on its first
+// event), so logging an event never blocks, takes a lock or allocates; the only
+// allocations are registering a name the log has not seen before and a thread's
+// first event when no spare ring is left. A background thread drains all rings
+// in batches and appends them through a FileChannel. Once a producer thread has
+// died and its ring is drained, the ring is retired and kept (up to
+// MAX_SPARE_RINGS) for the next new thread, so thread churn does not pile up rings.
+// Events that do not fit in a full ring are counted per thread and written as
+// DROPPED records, so a gap in the log is always visible; events offered while
+// or after the log closes are counted in getDropped(). Read a log back with
+// EventLogReader.
+public final class EventLog implements AutoCloseable {
+
+    static final int MAGIC = 0x52504745; // "RPGE"
+    static final int VERSION = 1;
+    static final int BLOCK_MAGIC = 0x424C4B31; // "BLK1"
+    static final int BLOCK_HEADER_SIZE = 12;
+
+    public static final int DEFAULT_RING_CAPACITY = 1 << 14;
+
+    private static final int BATCH_RECORDS = 4096;
+    private static final int MAX_SPARE_RINGS = 8;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Path file;
+    private final FileChannel channel;
+    private final int ringCapacity;
+    private final long epochOffsetNanos;
+
+    private final ThreadLocal<EventRing> rings;
+    private final CopyOnWriteArrayList<EventRing> allRings = new CopyOnWriteArrayList<>();
+    private final ConcurrentLinkedQueue<EventRing> spareRings = new ConcurrentLinkedQueue<>();
+
+    private final Map<String, Integer> nameIds = new ConcurrentHashMap<>();
+    private String[] names = new String[64]; // guarded by nameIds' registration lock
+    private int nameCount;
+
+    // Writer thread state
+    private final Thread writer;
+    private final ByteBuffer batch;
+    private int namesWritten;
+    private volatile boolean closing;
+    private volatile boolean closed;
+    private volatile long written;
+    private volatile long retiredDropped;
+    private volatile IOException failure;
+
+    private EventLog(Path file, FileChannel channel, int ringCapacity) {
+        this.file = file;
+        this.channel = channel;
+        this.ringCapacity = ringCapacity;
+        this.epochOffsetNanos = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()) - System.nanoTime();
+        this.rings = ThreadLocal.withInitial(this::takeRing);
+        this.batch = ByteBuffer.allocateDirect(BLOCK_HEADER_SIZE + BATCH_RECORDS * EventRing.RECORD_BYTES);
+        this.writer = new Thread(this::writeLoop, "event-log-writer");
+        this.writer.setDaemon(true);
+    }
+
+    public static EventLog open(Path file) {
+        return open(file, DEFAULT_RING_CAPACITY);
+    }
+
+    // ringCapacity: events one producer thread can have in flight before it drops
+    public static EventLog open(Path file, int ringCapacity) {
+        if (ringCapacity < 1) {
+            throw new IllegalArgumentException("Ring capacity must be positive: " + ringCapacity);
+        }
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            try {
+                ByteBuffer header = ByteBuffer.allocate(8).putInt(MAGIC).putInt(VERSION).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            EventLog log = new EventLog(file, channel, ringCapacity);
+            log.writer.start();
+            return log;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open event log " + file, e);
+        }
+    }
+
+    // -------------------------
+    // PRODUCERS
+    // -------------------------
+    public boolean spawn(String templateKey, int count) {
+        return offer(EventType.SPAWN, templateKey, count, 0);
+    }
+
+    public boolean ability(String abilityName, int damage, int caster) {
+        return offer(EventType.ABILITY, abilityName, damage, caster);
+    }
+
+    // item is null when the roll dropped no item
+    public boolean loot(String item, int gold, int experience) {
+        return offer(EventType.LOOT, item, gold, experience);
+    }
+
+    // False if the event was dropped (ring full or log closed); drops are counted
+    public boolean offer(EventType type, String name, int value1, int value2) {
+        EventRing ring = rings.get();
+        if (closing) {
+            ring.drop();
+            return false;
+        }
+        return ring.offer(System.nanoTime() + epochOffsetNanos,
+                type.getCode(), nameId(name), value1, value2);
+    }
+
+    private EventRing takeRing() {
+        EventRing ring = spareRings.poll();
+        if (ring == null) {
+            ring = new EventRing(ringCapacity, 1);
+        } else {
+            ring.reassign();
+        }
+        allRings.add(ring);
+        return ring;
+    }
+
+    private int nameId(String name) {
+        if (name == null) {
+            return -1;
+        }
+        Integer id = nameIds.get(name);
+        return id != null ? id : nameIds.computeIfAbsent(name, this::registerName);
+    }
+
+    // Runs under the map's lock for this key, so ids are dense and assigned once
+    private int registerName(String name) {
+        synchronized (this) {
+            if (nameCount == names.length) {
+                names = Arrays.copyOf(names, nameCount * 2);
+            }
+            names[nameCount] = name;
+            return nameCount++;
+        }
+    }
+
+    // -------------------------
+    // WRITER
+    // -------------------------
+    private void writeLoop() {
+        try {
+            while (!closing) {
+                if (drainOnce() == 0) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+            while (drainOnce() > 0) {
+                // flush what producers published before close
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    // One pass over all rings; returns the number of records written
+    private int drainOnce() throws IOException {
+        int total = 0;
+        for (EventRing ring : allRings) {
+            // Read before draining: a dead owner cannot publish after this point
+            boolean ownerGone = !ring.isOwnerAlive();
+            EventRing.Reader reader = ring.reader(0);
+            while (reader.pending() > 0) {
+                batch.clear().position(BLOCK_HEADER_SIZE);
+                int count = reader.drainTo(batch, BATCH_RECORDS);
+                writeBlock(count);
+                total += count;
+            }
+            total += reportDropped(ring);
+            if (ownerGone && !closing) {
+                retire(ring);
+            }
+        }
+        return total;
+    }
+
+    private void retire(EventRing ring) {
+        allRings.remove(ring);
+        retiredDropped += ring.getDropped();
+        ring.reportedDropped = 0;
+        ring.resetDropped();
+        if (spareRings.size() < MAX_SPARE_RINGS) {
+            spareRings.add(ring);
+        }
+    }
+
+    private int reportDropped(EventRing ring) throws IOException {
+        long dropped = ring.getDropped();
+        long delta = dropped - ring.reportedDropped;
+        if (delta == 0) {
+            return 0;
+        }
+        ring.reportedDropped = dropped;
+        batch.clear().position(BLOCK_HEADER_SIZE);
+        batch.putLong(System.nanoTime() + epochOffsetNanos)
+                .putLong((long) EventType.DROPPED.getCode() << 32 | 0xFFFFFFFFL)
+                .putLong(Math.min(delta, Integer.MAX_VALUE) << 32)
+                .putLong(ring.getThreadId());
+        writeBlock(1);
+        return 1;
+    }
+
+    // Writes the batch (records already at BLOCK_HEADER_SIZE) and any new names
+    private void writeBlock(int eventCount) throws IOException {
+        String[] snapshot;
+        int count;
+        synchronized (this) {
+            snapshot = names;
+            count = nameCount;
+        }
+        ByteBuffer nameBlock = null;
+        if (count > namesWritten) {
+            int size = 0;
+            byte[][] encoded = new byte[count - namesWritten][];
+            for (int i = namesWritten; i < count; i++) {
+                encoded[i - namesWritten] = snapshot[i].getBytes(StandardCharsets.UTF_8);
+                size += 6 + encoded[i - namesWritten].length;
+            }
+            nameBlock = ByteBuffer.allocate(size);
+            for (int i = namesWritten; i < count; i++) {
+                byte[] bytes = encoded[i - namesWritten];
+                nameBlock.putInt(i).putShort((short) bytes.length).put(bytes);
+            }
+            nameBlock.flip();
+        }
+        batch.flip();
+        batch.putInt(0, BLOCK_MAGIC)
+                .putInt(4, count - namesWritten)
+                .putInt(8, eventCount);
+        ByteBuffer header = batch.duplicate().limit(BLOCK_HEADER_SIZE);
+        ByteBuffer events = batch.duplicate().position(BLOCK_HEADER_SIZE);
+        ByteBuffer[] parts = nameBlock == null
+                ? new ByteBuffer[] {header, events}
+                : new ByteBuffer[] {header, nameBlock, events};
+        long remaining = header.remaining() + events.remaining() + (nameBlock == null ? 0 : nameBlock.remaining());
+        while (remaining > 0) {
+            remaining -= channel.write(parts);
+        }
+        namesWritten = count;
+        written += eventCount;
+    }
+
+    // -------------------------
+    // STATS
+    // -------------------------
+    public Path getFile() {
+        return file;
+    }
+
+    // Events appended to the file so far, DROPPED records included
+    public long getWritten() {
+        return written;
+    }
+
+    // Events dropped so far across all producer threads. After close() this
+    // also counts events a producer managed to publish while close() was
+    // finishing, which the writer never got to see.
+    public long getDropped() {
+        long total = retiredDropped;
+        boolean afterClose = closed;
+        for (EventRing ring : allRings) {
+            total += ring.getDropped();
+            if (afterClose) {
+                total += ring.reader(0).pending();
+            }
+        }
+        return total;
+    }
+
+    // Rings currently assigned to producer threads
+    public int getActiveRings() {
+        return allRings.size();
+    }
+
+    // Stops accepting events, writes everything already published and closes the file
+    @Override
+    public void close() {
+        closing = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closed = true;
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close event log " + file, e);
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Event log writer failed for " + file, failure);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.narxoz.rpg.eventlog;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Decodes an EventLog file. A block cut short by a crash ends the log.
+// As a tool it prints every event, or only a per-type summary:
+//   java -cp out com.narxoz.rpg.eventlog.EventLogReader combat.log [--summary]
+public final class EventLogReader {
+
+    private EventLogReader() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: EventLogReader <file> [--summary]");
+            return;
+        }
+        boolean summary = args.length > 1 && args[1].equals("--summary");
+        Map<EventType, long[]> totals = new EnumMap<>(EventType.class);
+        long events = read(Path.of(args[0]), event -> {
+            if (summary) {
+                long[] t = totals.computeIfAbsent(event.type(), k -> new long[2]);
+                t[0]++;
+                t[1] += event.value1();
+            } else {
+                System.out.println(event);
+            }
+        });
+        if (summary) {
+            for (Map.Entry<EventType, long[]> entry : totals.entrySet()) {
+                System.out.printf("%-8s records=%d value1 total=%d%n",
+                        entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
+            }
+        }
+        System.out.println(events + " events");
+    }
+
+    // Passes every event in file order to sink and returns how many there were
+    public static long read(Path file, Consumer<? super LoggedEvent> sink) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (data.remaining() < 8 || data.getInt() != EventLog.MAGIC || data.getInt() != EventLog.VERSION) {
+                throw new IllegalStateException("Not an event log: " + file);
+            }
+            List<String> names = new ArrayList<>();
+            long events = 0;
+            while (data.remaining() >= EventLog.BLOCK_HEADER_SIZE) {
+                int start = data.position();
+                if (!readBlock(data, names, sink)) {
+                    data.position(start);
+                    break;
+                }
+                events += data.getInt(start + 8);
+            }
+            return events;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read event log " + file, e);
+        }
+    }
+
+    // False if the block is torn; nothing from it is passed on in that case
+    private static boolean readBlock(ByteBuffer data, List<String> names,
+                                     Consumer<? super LoggedEvent> sink) {
+        if (data.getInt() != EventLog.BLOCK_MAGIC) {
+            return false;
+        }
+        int nameCount = data.getInt();
+        int eventCount = data.getInt();
+        List<String> added = new ArrayList<>(nameCount);
+        for (int i = 0; i < nameCount; i++) {
+            if (data.remaining() < 6) {
+                return false;
+            }
+            int id = data.getInt();
+            int length = Short.toUnsignedInt(data.getShort());
+            if (id != names.size() + added.size() || data.remaining() < length) {
+                return false;
+            }
+            byte[] bytes = new byte[length];
+            data.get(bytes);
+            added.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        if (data.remaining() < (long) eventCount * EventRing.RECORD_BYTES) {
+            return false;
+        }
+        names.addAll(added);
+        for (int i = 0; i < eventCount; i++) {
+            long timestamp = data.getLong();
+            long typeAndName = data.getLong();
+            long values = data.getLong();
+            long thread = data.getLong();
+            int nameId = (int) typeAndName;
+            sink.accept(new LoggedEvent(timestamp, EventType.ofCode((int) (typeAndName >>> 32)), thread,
+                    nameId < 0 ? null : names.get(nameId), (int) (values >>> 32), (int) values));
+        }
+        return true;
+    }
+}
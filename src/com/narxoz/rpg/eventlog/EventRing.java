@@ -0,0 +1,170 @@
+package com.narxoz.rpg.eventlog;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+
+// Preallocated single-writer / multi-reader ring of fixed-size event records.
+// Each record is RECORD_LONGS longs:
+//
+//   [0] timestamp (epoch nanos)
+//   [1] event type code << 32 | name id
+//   [2] value1 << 32 | value2
+//   [3] id of the producing thread
+//
+// offer() is wait-free and allocation-free: it writes the slot and publishes
+// it with a release store of head. Every reader has its own cursor, and the
+// writer never overwrites a slot some reader has not consumed yet. When the
+// ring is full the event is dropped and counted instead.
+// The writing thread is the ring's owner; once the owner has died and the
+// ring is drained, reassign() can hand the ring to a new thread.
+public final class EventRing {
+
+    public static final int RECORD_LONGS = 4;
+    public static final int RECORD_BYTES = RECORD_LONGS * Long.BYTES;
+
+    private static final VarHandle HEAD;
+    private static final VarHandle DROPPED;
+    private static final VarHandle CURSOR;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(EventRing.class, "head", long.class);
+            DROPPED = lookup.findVarHandle(EventRing.class, "dropped", long.class);
+            CURSOR = lookup.findVarHandle(Reader.class, "cursor", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final long[] slots;
+    private final int mask;
+    private volatile Thread owner;
+    private volatile long threadId;
+    private final Reader[] readers;
+
+    // Written by the producer only, read by readers through the VarHandles
+    private long head;
+    private long dropped;
+    private long cachedMinCursor;
+
+    // DROPPED count already reported by the consumer (EventLog's writer thread)
+    long reportedDropped;
+
+    // One consumer of the ring; a reader must only be used by one thread at a time
+    public final class Reader {
+        private long cursor;
+
+        private Reader() {
+        }
+
+        // Copies up to maxRecords published records into out (which must have room
+        // for them) and releases their slots to the writer. Returns the count.
+        public int drainTo(ByteBuffer out, int maxRecords) {
+            long from = cursor;
+            long available = (long) HEAD.getAcquire(EventRing.this) - from;
+            int count = (int) Math.min(available, maxRecords);
+            for (int r = 0; r < count; r++) {
+                int slot = (int) ((from + r) & mask) * RECORD_LONGS;
+                for (int w = 0; w < RECORD_LONGS; w++) {
+                    out.putLong(slots[slot + w]);
+                }
+            }
+            if (count > 0) {
+                CURSOR.setRelease(this, from + count);
+            }
+            return count;
+        }
+
+        public long pending() {
+            return (long) HEAD.getAcquire(EventRing.this) - cursor;
+        }
+    }
+
+    // capacity is rounded up to a power of two
+    public EventRing(int capacity, int readerCount) {
+        if (capacity < 1 || capacity > 1 << 24) {
+            throw new IllegalArgumentException("Ring capacity must be in [1, 2^24]: " + capacity);
+        }
+        if (readerCount < 1) {
+            throw new IllegalArgumentException("Ring needs at least one reader: " + readerCount);
+        }
+        int size = Integer.highestOneBit(capacity * 2 - 1);
+        this.slots = new long[size * RECORD_LONGS];
+        this.mask = size - 1;
+        this.owner = Thread.currentThread();
+        this.threadId = owner.getId();
+        this.readers = new Reader[readerCount];
+        for (int i = 0; i < readerCount; i++) {
+            readers[i] = new Reader();
+        }
+    }
+
+    public Reader reader(int index) {
+        return readers[index];
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    // Thread that owns the ring; only it may call offer()
+    public long getThreadId() {
+        return threadId;
+    }
+
+    public boolean isOwnerAlive() {
+        return owner.isAlive();
+    }
+
+    // Hands a drained ring whose owner has died to the calling thread
+    void reassign() {
+        if (owner.isAlive() || reader(0).pending() > 0) {
+            throw new IllegalStateException("Ring still in use by thread " + threadId);
+        }
+        owner = Thread.currentThread();
+        threadId = owner.getId();
+    }
+
+    // Only while the ring is retired: nobody is offering
+    void resetDropped() {
+        DROPPED.setOpaque(this, 0L);
+    }
+
+    // Counts an event the owner could not log for another reason (log closed)
+    void drop() {
+        DROPPED.setOpaque(this, dropped + 1);
+    }
+
+    // Events dropped so far because the ring was full; readable from any thread
+    public long getDropped() {
+        return (long) DROPPED.getOpaque(this);
+    }
+
+    public boolean offer(long timestamp, int typeCode, int nameId, int value1, int value2) {
+        long h = head;
+        if (h - cachedMinCursor > mask) {
+            cachedMinCursor = minCursor();
+            if (h - cachedMinCursor > mask) {
+                drop();
+                return false;
+            }
+        }
+        int slot = (int) (h & mask) * RECORD_LONGS;
+        slots[slot] = timestamp;
+        slots[slot + 1] = (long) typeCode << 32 | (nameId & 0xFFFFFFFFL);
+        slots[slot + 2] = (long) value1 << 32 | (value2 & 0xFFFFFFFFL);
+        slots[slot + 3] = Thread.currentThread().getId();
+        HEAD.setRelease(this, h + 1);
+        return true;
+    }
+
+    private long minCursor() {
+        long min = Long.MAX_VALUE;
+        for (Reader reader : readers) {
+            min = Math.min(min, (long) CURSOR.getAcquire(reader));
+        }
+        return min;
+    }
+}
@@ -0,0 +1,40 @@
+package com.narxoz.rpg.eventlog;
+
+// Kinds of records in an EventLog file. The code is what is stored on disk,
+// so existing codes must never change.
+public enum EventType {
+    // name = template key, value1 = enemies spawned
+    SPAWN(1),
+    // name = ability name, value1 = damage, value2 = caster (pool slot or encounter enemy index)
+    ABILITY(2),
+    // name = item (none if nothing dropped), value1 = gold, value2 = experience
+    LOOT(3),
+    // value1 = events the producing thread had to drop because its ring was full
+    DROPPED(4);
+
+    private static final EventType[] BY_CODE = new EventType[5];
+
+    static {
+        for (EventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final int code;
+
+    EventType(int code) {
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public static EventType ofCode(int code) {
+        EventType type = code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown event type code: " + code);
+        }
+        return type;
+    }
+}
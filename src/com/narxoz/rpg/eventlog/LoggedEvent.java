@@ -0,0 +1,18 @@
+package com.narxoz.rpg.eventlog;
+
+import java.time.Instant;
+
+// One decoded EventLog record; see EventType for what name and the values mean
+public record LoggedEvent(long timestampNanos, EventType type, long threadId,
+                          String name, int value1, int value2) {
+
+    public Instant timestamp() {
+        return Instant.ofEpochSecond(0, timestampNanos);
+    }
+
+    @Override
+    public String toString() {
+        return timestamp() + " [" + threadId + "] " + type
+                + (name == null ? "" : " " + name) + " " + value1 + " " + value2;
+    }
+}
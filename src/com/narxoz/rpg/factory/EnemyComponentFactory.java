@@ -1,6 +1,7 @@
 package com.narxoz.rpg.factory;
 
 import com.narxoz.rpg.combat.Ability;
+import com.narxoz.rpg.enemy.AIBehavior;
 import com.narxoz.rpg.loot.LootTable;
 
 import java.util.List;
@@ -12,4 +13,9 @@ public interface EnemyComponentFactory {
     LootTable createLootTable();
 
     String createAIBehavior();
+
+    // Typed variant for hot paths; the String form stays as the data-file bridge.
+    default AIBehavior createAIBehaviorType() {
+        return AIBehavior.of(createAIBehavior());
+    }
 }
\ No newline at end of file
@@ -1,8 +1,9 @@
 package com.narxoz.rpg.factory;
 
+import com.narxoz.rpg.combat.Abilities;
 import com.narxoz.rpg.combat.Ability;
-import com.narxoz.rpg.combat.FlameBreath;
-import com.narxoz.rpg.loot.FireLootTable;
+import com.narxoz.rpg.enemy.AIBehavior;
+import com.narxoz.rpg.loot.LootTables;
 import com.narxoz.rpg.loot.LootTable;
 
 import java.util.ArrayList;
@@ -13,17 +14,22 @@ public class FireComponentFactory implements EnemyComponentFactory {
     @Override
     public List<Ability> createAbilities() {
         List<Ability> abilities = new ArrayList<>();
-        abilities.add(new FlameBreath());
+        abilities.add(Abilities.flameBreath());
         return abilities;
     }
 
     @Override
     public LootTable createLootTable() {
-        return new FireLootTable();
+        return LootTables.fire();
     }
 
     @Override
     public String createAIBehavior() {
-        return "AGGRESSIVE";
+        return createAIBehaviorType().name();
+    }
+
+    @Override
+    public AIBehavior createAIBehaviorType() {
+        return AIBehavior.AGGRESSIVE;
     }
 }
\ No newline at end of file
@@ -1,8 +1,9 @@
 package com.narxoz.rpg.factory;
 
+import com.narxoz.rpg.combat.Abilities;
 import com.narxoz.rpg.combat.Ability;
-import com.narxoz.rpg.combat.FrostBreath;
-import com.narxoz.rpg.loot.IceLootTable;
+import com.narxoz.rpg.enemy.AIBehavior;
+import com.narxoz.rpg.loot.LootTables;
 import com.narxoz.rpg.loot.LootTable;
 
 import java.util.ArrayList;
@@ -13,17 +14,22 @@ public class IceComponentFactory implements EnemyComponentFactory {
     @Override
     public List<Ability> createAbilities() {
         List<Ability> abilities = new ArrayList<>();
-        abilities.add(new FrostBreath());
+        abilities.add(Abilities.frostBreath());
         return abilities;
     }
 
     @Override
     public LootTable createLootTable() {
-        return new IceLootTable();
+        return LootTables.ice();
     }
 
     @Override
     public String createAIBehavior() {
-        return "DEFENSIVE";
+        return createAIBehaviorType().name();
+    }
+
+    @Override
+    public AIBehavior createAIBehaviorType() {
+        return AIBehavior.DEFENSIVE;
     }
 }
\ No newline at end of file
@@ -1,9 +1,10 @@
 package com.narxoz.rpg.factory;
 
+import com.narxoz.rpg.combat.Abilities;
 import com.narxoz.rpg.combat.Ability;
-import com.narxoz.rpg.combat.ShadowStrike;
+import com.narxoz.rpg.enemy.AIBehavior;
 import com.narxoz.rpg.loot.LootTable;
-import com.narxoz.rpg.loot.ShadowLootTable;
+import com.narxoz.rpg.loot.LootTables;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -13,17 +14,22 @@ public class ShadowComponentFactory implements EnemyComponentFactory {
     @Override
     public List<Ability> createAbilities() {
         List<Ability> abilities = new ArrayList<>();
-        abilities.add(new ShadowStrike());
+        abilities.add(Abilities.shadowStrike());
         return abilities;
     }
 
     @Override
     public LootTable createLootTable() {
-        return new ShadowLootTable();
+        return LootTables.shadow();
     }
 
     @Override
     public String createAIBehavior() {
-        return "TACTICAL";
+        return createAIBehaviorType().name();
+    }
+
+    @Override
+    public AIBehavior createAIBehaviorType() {
+        return AIBehavior.TACTICAL;
     }
 }
\ No newline at end of file
@@ -0,0 +1,218 @@
+package com.narxoz.rpg.loot;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+// Immutable, pre-compiled drop table: weighted items (Vose alias method, O(1)
+// per roll) plus gold and experience ranges. Built once, rolled many times.
+public final class DropTable {
+
+    // Alias probabilities are scaled to 2^31 and compared against a 31-bit coin
+    private static final long ONE = 1L << 31;
+
+    private final String[] items;
+    private final int[] itemIds;
+    private final Rarity[] rarities;
+    private final int[] weights;
+    private final long[] probability;
+    private final int[] alias;
+    private final int goldMin;
+    private final int goldMax;
+    private final int experienceMin;
+    private final int experienceMax;
+
+    private DropTable(Builder builder) {
+        int n = builder.items.size();
+        this.items = builder.items.toArray(new String[0]);
+        this.itemIds = new int[n];
+        for (int i = 0; i < n; i++) {
+            itemIds[i] = ItemIds.idOf(items[i]);
+        }
+        this.rarities = builder.rarities.toArray(new Rarity[0]);
+        this.weights = builder.weights.stream().mapToInt(Integer::intValue).toArray();
+        this.probability = new long[n];
+        this.alias = new int[n];
+        this.goldMin = builder.goldMin;
+        this.goldMax = builder.goldMax;
+        this.experienceMin = builder.experienceMin;
+        this.experienceMax = builder.experienceMax;
+        buildAlias(builder.weights);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Every item equally likely; gold and experience fixed.
+    public static DropTable uniform(List<String> items, int gold, int experience) {
+        Builder builder = builder().gold(gold, gold).experience(experience, experience);
+        for (String item : items) {
+            builder.item(item, 1, Rarity.COMMON);
+        }
+        return builder.build();
+    }
+
+    // -------------------------
+    // ROLLING
+    // -------------------------
+    // All draws come from the seed, so the same seed always gives the same drop.
+    public void roll(long seed, LootRoll out) {
+        long r1 = LootRoller.mix(seed);
+        long r2 = LootRoller.mix(seed + LootRoller.GOLDEN_GAMMA);
+        long r3 = LootRoller.mix(seed + 2 * LootRoller.GOLDEN_GAMMA);
+
+        int index = -1;
+        if (items.length > 0) {
+            int column = bounded(r1 >>> 32, items.length);
+            long coin = r1 & (ONE - 1);
+            index = coin < probability[column] ? column : alias[column];
+        }
+        out.set(this, index, between(r2, goldMin, goldMax), between(r3, experienceMin, experienceMax));
+    }
+
+    public int itemCount() {
+        return items.length;
+    }
+
+    public String itemAt(int index) {
+        return items[index];
+    }
+
+    // Global ItemIds id of the item at index
+    public int itemIdAt(int index) {
+        return itemIds[index];
+    }
+
+    public Rarity rarityAt(int index) {
+        return rarities[index];
+    }
+
+    // Relative weight of the item at index, as passed to the builder
+    public int weightAt(int index) {
+        return weights[index];
+    }
+
+    public int getGoldMin() {
+        return goldMin;
+    }
+
+    public int getGoldMax() {
+        return goldMax;
+    }
+
+    public int getExperienceMin() {
+        return experienceMin;
+    }
+
+    public int getExperienceMax() {
+        return experienceMax;
+    }
+
+    private static int between(long random, int min, int max) {
+        return min + bounded(random >>> 32, max - min + 1);
+    }
+
+    // Maps a 32-bit random value onto [0, bound) without division
+    private static int bounded(long random32, int bound) {
+        return (int) ((random32 * bound) >>> 32);
+    }
+
+    // Vose's alias method
+    private void buildAlias(List<Integer> weights) {
+        int n = weights.size();
+        if (n == 0) {
+            return;
+        }
+        long total = 0;
+        for (int w : weights) {
+            total += w;
+        }
+        double[] scaled = new double[n];
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            scaled[i] = (double) weights.get(i) * n / total;
+            if (scaled[i] < 1.0) {
+                small.push(i);
+            } else {
+                large.push(i);
+            }
+        }
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int less = small.pop();
+            int more = large.pop();
+            probability[less] = (long) (scaled[less] * ONE);
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small.push(more);
+            } else {
+                large.push(more);
+            }
+        }
+        // Leftovers are 1.0 up to rounding error
+        while (!large.isEmpty()) {
+            int i = large.pop();
+            probability[i] = ONE;
+            alias[i] = i;
+        }
+        while (!small.isEmpty()) {
+            int i = small.pop();
+            probability[i] = ONE;
+            alias[i] = i;
+        }
+    }
+
+    public static final class Builder {
+
+        private final List<String> items = new ArrayList<>();
+        private final List<Integer> weights = new ArrayList<>();
+        private final List<Rarity> rarities = new ArrayList<>();
+        private int goldMin;
+        private int goldMax;
+        private int experienceMin;
+        private int experienceMax;
+
+        private Builder() {
+        }
+
+        public Builder item(String name, int weight, Rarity rarity) {
+            if (name == null || rarity == null) {
+                throw new IllegalArgumentException("Item name and rarity are required");
+            }
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Weight must be positive: " + name);
+            }
+            items.add(name);
+            weights.add(weight);
+            rarities.add(rarity);
+            return this;
+        }
+
+        public Builder gold(int min, int max) {
+            checkRange("Gold", min, max);
+            this.goldMin = min;
+            this.goldMax = max;
+            return this;
+        }
+
+        public Builder experience(int min, int max) {
+            checkRange("Experience", min, max);
+            this.experienceMin = min;
+            this.experienceMax = max;
+            return this;
+        }
+
+        public DropTable build() {
+            return new DropTable(this);
+        }
+
+        private static void checkRange(String what, int min, int max) {
+            if (min < 0 || max < min) {
+                throw new IllegalArgumentException(what + " range is invalid: " + min + ".." + max);
+            }
+        }
+    }
+}
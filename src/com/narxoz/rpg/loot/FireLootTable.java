@@ -1,28 +1,35 @@
 package com.narxoz.rpg.loot;
 
-import java.util.ArrayList;
 import java.util.List;
 
-public class FireLootTable implements LootTable {
+public final class FireLootTable implements LootTable {
+
+    // Shared by every instance; List.of is immutable
+    private static final List<String> ITEMS = List.of("Fire Gem", "Flame Rune", "Dragon Scale");
+
+    // Average gold and experience match getGoldDrop()/getExperienceDrop()
+    private static final DropTable DROPS = DropTable.builder()
+            .item("Fire Gem", 60, Rarity.COMMON)
+            .item("Flame Rune", 30, Rarity.RARE)
+            .item("Dragon Scale", 10, Rarity.EPIC)
+            .gold(120, 180)
+            .experience(270, 330)
+            .build();
 
     private final List<String> items;
     private final int goldDrop;
     private final int experienceDrop;
 
     public FireLootTable() {
-        this.items = new ArrayList<>();
-        items.add("Fire Gem");
-        items.add("Flame Rune");
-        items.add("Dragon Scale");
-
+        this.items = ITEMS;
         this.goldDrop = 150;
         this.experienceDrop = 300;
     }
 
     @Override
     public List<String> getItems() {
-        // Returning a copy to preserve immutability
-        return new ArrayList<>(items);
+        // Already immutable, safe to hand out without copying
+        return items;
     }
 
     @Override
@@ -35,10 +42,13 @@ public class FireLootTable implements LootTable {
         return experienceDrop;
     }
 
+    @Override
+    public DropTable getDropTable() {
+        return DROPS;
+    }
+
     @Override
     public LootTable clone() {
-        // Deep copy: new object with its own list
-        FireLootTable copy = new FireLootTable();
-        return copy;
+        return this;
     }
-}
\ No newline at end of file
+}
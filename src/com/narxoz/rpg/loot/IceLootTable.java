@@ -1,27 +1,35 @@
 package com.narxoz.rpg.loot;
 
-import java.util.ArrayList;
 import java.util.List;
 
-public class IceLootTable implements LootTable {
+public final class IceLootTable implements LootTable {
+
+    // Shared by every instance; List.of is immutable
+    private static final List<String> ITEMS = List.of("Ice Gem", "Frost Rune", "Frozen Scale");
+
+    // Average gold and experience match getGoldDrop()/getExperienceDrop()
+    private static final DropTable DROPS = DropTable.builder()
+            .item("Ice Gem", 60, Rarity.COMMON)
+            .item("Frost Rune", 30, Rarity.RARE)
+            .item("Frozen Scale", 10, Rarity.EPIC)
+            .gold(100, 140)
+            .experience(250, 310)
+            .build();
 
     private final List<String> items;
     private final int goldDrop;
     private final int experienceDrop;
 
     public IceLootTable() {
-        this.items = new ArrayList<>();
-        items.add("Ice Gem");
-        items.add("Frost Rune");
-        items.add("Frozen Scale");
-
+        this.items = ITEMS;
         this.goldDrop = 120;
         this.experienceDrop = 280;
     }
 
     @Override
     public List<String> getItems() {
-        return new ArrayList<>(items);
+        // Already immutable, safe to hand out without copying
+        return items;
     }
 
     @Override
@@ -34,8 +42,13 @@ public class IceLootTable implements LootTable {
         return experienceDrop;
     }
 
+    @Override
+    public DropTable getDropTable() {
+        return DROPS;
+    }
+
     @Override
     public LootTable clone() {
-        return new IceLootTable();
+        return this;
     }
-}
\ No newline at end of file
+}
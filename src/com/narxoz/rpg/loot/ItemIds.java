@@ -0,0 +1,49 @@
+package com.narxoz.rpg.loot;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Interns item names to dense int ids, so aggregation can count drops in a
+// plain long[] instead of hashing strings. Ids are stable for the process lifetime.
+public final class ItemIds {
+
+    private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private static volatile String[] names = new String[0];
+
+    private ItemIds() {
+    }
+
+    public static int idOf(String item) {
+        Integer id = ids.get(item);
+        return id != null ? id : register(item);
+    }
+
+    // Id of an item that was already interned, or -1; never interns
+    public static int find(String item) {
+        Integer id = ids.get(item);
+        return id != null ? id : -1;
+    }
+
+    public static String nameOf(int id) {
+        return names[id];
+    }
+
+    // Ids handed out so far are [0, count())
+    public static int count() {
+        return names.length;
+    }
+
+    private static synchronized int register(String item) {
+        Integer id = ids.get(item);
+        if (id == null) {
+            String[] current = names;
+            String[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = item;
+            names = grown;
+            id = current.length;
+            ids.put(item, id);
+        }
+        return id;
+    }
+}
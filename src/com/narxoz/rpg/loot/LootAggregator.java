@@ -0,0 +1,38 @@
+package com.narxoz.rpg.loot;
+
+import com.narxoz.rpg.enemy.Enemy;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+// Resolves and merges the loot of a whole wave. Kill i always uses
+// LootRoller.seedFor(raidSeed, i), so the parallel path gives exactly the
+// same totals as the sequential one.
+public final class LootAggregator {
+
+    private LootAggregator() {
+    }
+
+    public static LootSummary aggregate(List<? extends Enemy> enemies, long raidSeed) {
+        LootSummary summary = new LootSummary();
+        for (int i = 0, n = enemies.size(); i < n; i++) {
+            summary.add(dropTableOf(enemies.get(i)), LootRoller.seedFor(raidSeed, i));
+        }
+        return summary;
+    }
+
+    // Fork/join via a parallel stream: one LootSummary per split, merged at the end.
+    // enemies should support fast random access (e.g. ArrayList).
+    public static LootSummary aggregateParallel(List<? extends Enemy> enemies, long raidSeed) {
+        return IntStream.range(0, enemies.size())
+                .parallel()
+                .collect(LootSummary::new,
+                        (summary, i) -> summary.add(dropTableOf(enemies.get(i)),
+                                LootRoller.seedFor(raidSeed, i)),
+                        LootSummary::merge);
+    }
+
+    private static DropTable dropTableOf(Enemy enemy) {
+        return enemy.getLootTable().getDropTable();
+    }
+}
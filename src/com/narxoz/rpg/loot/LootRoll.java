@@ -0,0 +1,52 @@
+package com.narxoz.rpg.loot;
+
+// Mutable result of one roll. Meant to be reused across rolls, so rolling
+// loot in a loop allocates nothing; copy the values out if you need to keep them.
+public final class LootRoll {
+
+    private DropTable table;
+    private int itemIndex = -1;
+    private int gold;
+    private int experience;
+
+    void set(DropTable table, int itemIndex, int gold, int experience) {
+        this.table = table;
+        this.itemIndex = itemIndex;
+        this.gold = gold;
+        this.experience = experience;
+    }
+
+    public boolean hasItem() {
+        return itemIndex >= 0;
+    }
+
+    // Index into the table's items, -1 if the table has none
+    public int getItemIndex() {
+        return itemIndex;
+    }
+
+    // ItemIds id of the dropped item, -1 if none
+    public int getItemId() {
+        return itemIndex < 0 ? -1 : table.itemIdAt(itemIndex);
+    }
+
+    public String getItem() {
+        return itemIndex < 0 ? null : table.itemAt(itemIndex);
+    }
+
+    public Rarity getRarity() {
+        return itemIndex < 0 ? null : table.rarityAt(itemIndex);
+    }
+
+    public DropTable getTable() {
+        return table;
+    }
+
+    public int getGold() {
+        return gold;
+    }
+
+    public int getExperience() {
+        return experience;
+    }
+}
@@ -0,0 +1,53 @@
+package com.narxoz.rpg.loot;
+
+import com.narxoz.rpg.enemy.Enemy;
+import com.narxoz.rpg.eventlog.CombatLog;
+import com.narxoz.rpg.eventlog.EventLog;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+// Deterministic loot rolls. Each kill gets its own seed derived from the raid
+// seed and the kill index, so results never depend on roll order or threads.
+public final class LootRoller {
+
+    // SplitMix64 increment; also drives EncounterSimulator's RNG
+    public static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private LootRoller() {
+    }
+
+    public static long seedFor(long raidSeed, int killIndex) {
+        return mix(raidSeed + (killIndex + 1) * GOLDEN_GAMMA);
+    }
+
+    public static void roll(Enemy enemy, long seed, LootRoll out) {
+        enemy.getLootTable().getDropTable().roll(seed, out);
+        logDrop(out);
+    }
+
+    // Every roll path (single kills and LootAggregator) ends up here
+    static void logDrop(LootRoll roll) {
+        EventLog log = CombatLog.get();
+        if (log != null) {
+            log.loot(roll.getItem(), roll.getGold(), roll.getExperience());
+        }
+    }
+
+    // Rolls loot for every enemy in order, reusing one LootRoll for all of them.
+    public static void rollAll(List<? extends Enemy> enemies, long raidSeed,
+                               Consumer<? super LootRoll> sink) {
+        LootRoll roll = new LootRoll();
+        for (int i = 0, n = enemies.size(); i < n; i++) {
+            roll(enemies.get(i), seedFor(raidSeed, i), roll);
+            sink.accept(roll);
+        }
+    }
+
+    // SplitMix64 finalizer; the one copy of the mixer, shared with EncounterSimulator
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
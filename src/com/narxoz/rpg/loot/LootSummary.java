@@ -0,0 +1,106 @@
+package com.narxoz.rpg.loot;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Merged drops of many kills: total gold, total experience and per-item counts
+// keyed by ItemIds. Also serves as the per-thread accumulator while aggregating.
+public final class LootSummary {
+
+    private long gold;
+    private long experience;
+    private long kills;
+    private long[] itemCounts = new long[Math.max(ItemIds.count(), 8)];
+    private final LootRoll scratch = new LootRoll();
+
+    void add(DropTable table, long seed) {
+        table.roll(seed, scratch);
+        LootRoller.logDrop(scratch);
+        add(scratch);
+    }
+
+    void add(LootRoll roll) {
+        gold += roll.getGold();
+        experience += roll.getExperience();
+        kills++;
+        if (roll.hasItem()) {
+            int id = roll.getItemId();
+            if (id >= itemCounts.length) {
+                itemCounts = Arrays.copyOf(itemCounts, Math.max(id + 1, itemCounts.length * 2));
+            }
+            itemCounts[id]++;
+        }
+    }
+
+    void merge(LootSummary other) {
+        gold += other.gold;
+        experience += other.experience;
+        kills += other.kills;
+        if (other.itemCounts.length > itemCounts.length) {
+            itemCounts = Arrays.copyOf(itemCounts, other.itemCounts.length);
+        }
+        for (int i = 0; i < other.itemCounts.length; i++) {
+            itemCounts[i] += other.itemCounts[i];
+        }
+    }
+
+    public long getGold() {
+        return gold;
+    }
+
+    public long getExperience() {
+        return experience;
+    }
+
+    public long getKills() {
+        return kills;
+    }
+
+    public long getCount(int itemId) {
+        return itemId < itemCounts.length ? itemCounts[itemId] : 0;
+    }
+
+    // Looking up an item that never dropped anywhere does not intern it
+    public long getCount(String item) {
+        int id = ItemIds.find(item);
+        return id < 0 ? 0 : getCount(id);
+    }
+
+    // Item name -> count for every item that dropped at least once
+    public Map<String, Long> getItemCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < itemCounts.length; i++) {
+            if (itemCounts[i] > 0) {
+                counts.put(ItemIds.nameOf(i), itemCounts[i]);
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LootSummary)) {
+            return false;
+        }
+        LootSummary other = (LootSummary) o;
+        return gold == other.gold
+                && experience == other.experience
+                && kills == other.kills
+                && getItemCounts().equals(other.getItemCounts());
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(gold) * 31 + Long.hashCode(experience) * 17 + getItemCounts().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "LootSummary{kills=" + kills + ", gold=" + gold
+                + ", experience=" + experience + ", items=" + getItemCounts() + "}";
+    }
+}
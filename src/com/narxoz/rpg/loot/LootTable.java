@@ -3,8 +3,19 @@ package com.narxoz.rpg.loot;
 import java.util.List;
 
 public interface LootTable extends Cloneable {
+    // Unmodifiable; callers must not expect a fresh copy
     List<String> getItems();
     int getGoldDrop();
     int getExperienceDrop();
+
+    // Weighted drops for LootRoller. Builds a uniform table on every call, so
+    // implementations on a hot path should override this and return a cached table.
+    default DropTable getDropTable() {
+        return DropTable.uniform(getItems(), getGoldDrop(), getExperienceDrop());
+    }
+
+    // Immutable tables may return this; mutable ones must return a real copy.
+    // The built-in tables (see LootTables) and WeightedLootTable are immutable and
+    // do, so every enemy cloned from a prototype shares the same table.
     LootTable clone();
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package com.narxoz.rpg.loot;
+
+// FLYWEIGHT: canonical, shared instances of the immutable themed loot tables.
+public final class LootTables {
+
+    private static final FireLootTable FIRE = new FireLootTable();
+    private static final IceLootTable ICE = new IceLootTable();
+    private static final ShadowLootTable SHADOW = new ShadowLootTable();
+
+    private LootTables() {
+    }
+
+    public static FireLootTable fire() {
+        return FIRE;
+    }
+
+    public static IceLootTable ice() {
+        return ICE;
+    }
+
+    public static ShadowLootTable shadow() {
+        return SHADOW;
+    }
+
+    // Built-in table by its data-file id ("fire", "ice", "shadow"), or null.
+    public static LootTable named(String id) {
+        switch (id) {
+            case "fire":
+                return FIRE;
+            case "ice":
+                return ICE;
+            case "shadow":
+                return SHADOW;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.narxoz.rpg.loot;
+
+public enum Rarity {
+    COMMON,
+    UNCOMMON,
+    RARE,
+    EPIC,
+    LEGENDARY
+}
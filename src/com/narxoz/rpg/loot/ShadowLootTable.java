@@ -1,27 +1,35 @@
 package com.narxoz.rpg.loot;
 
-import java.util.ArrayList;
 import java.util.List;
 
-public class ShadowLootTable implements LootTable {
+public final class ShadowLootTable implements LootTable {
+
+    // Shared by every instance; List.of is immutable
+    private static final List<String> ITEMS = List.of("Shadow Gem", "Dark Essence", "Shadow Rune");
+
+    // Average gold and experience match getGoldDrop()/getExperienceDrop()
+    private static final DropTable DROPS = DropTable.builder()
+            .item("Shadow Gem", 55, Rarity.UNCOMMON)
+            .item("Dark Essence", 35, Rarity.RARE)
+            .item("Shadow Rune", 10, Rarity.LEGENDARY)
+            .gold(150, 210)
+            .experience(320, 380)
+            .build();
 
     private final List<String> items;
     private final int goldDrop;
     private final int experienceDrop;
 
     public ShadowLootTable() {
-        this.items = new ArrayList<>();
-        items.add("Shadow Gem");
-        items.add("Dark Essence");
-        items.add("Shadow Rune");
-
+        this.items = ITEMS;
         this.goldDrop = 180;
         this.experienceDrop = 350;
     }
 
     @Override
     public List<String> getItems() {
-        return new ArrayList<>(items);
+        // Already immutable, safe to hand out without copying
+        return items;
     }
 
     @Override
@@ -34,8 +42,13 @@ public class ShadowLootTable implements LootTable {
         return experienceDrop;
     }
 
+    @Override
+    public DropTable getDropTable() {
+        return DROPS;
+    }
+
     @Override
     public LootTable clone() {
-        return new ShadowLootTable();
+        return this;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package com.narxoz.rpg.loot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Loot table defined entirely by a DropTable, e.g. one loaded from a catalog.
+// getGoldDrop()/getExperienceDrop() report the midpoint of the rolled ranges.
+public final class WeightedLootTable implements LootTable {
+
+    private final DropTable drops;
+    private final List<String> items;
+
+    public WeightedLootTable(DropTable drops) {
+        this.drops = drops;
+        List<String> names = new ArrayList<>(drops.itemCount());
+        for (int i = 0; i < drops.itemCount(); i++) {
+            names.add(drops.itemAt(i));
+        }
+        this.items = Collections.unmodifiableList(names);
+    }
+
+    @Override
+    public List<String> getItems() {
+        return items;
+    }
+
+    @Override
+    public int getGoldDrop() {
+        return (drops.getGoldMin() + drops.getGoldMax()) / 2;
+    }
+
+    @Override
+    public int getExperienceDrop() {
+        return (drops.getExperienceMin() + drops.getExperienceMax()) / 2;
+    }
+
+    @Override
+    public DropTable getDropTable() {
+        return drops;
+    }
+
+    @Override
+    public LootTable clone() {
+        return this;
+    }
+}
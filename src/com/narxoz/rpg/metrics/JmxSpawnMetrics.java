@@ -0,0 +1,103 @@
+package com.narxoz.rpg.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+
+// RecordingSpawnMetrics published as a platform MXBean.
+public final class JmxSpawnMetrics extends RecordingSpawnMetrics implements SpawnMetricsMXBean {
+
+    public static final String OBJECT_NAME = "com.narxoz.rpg:type=SpawnMetrics";
+
+    private final ObjectName name;
+
+    private JmxSpawnMetrics(boolean measureAllocation, ObjectName name) {
+        super(measureAllocation);
+        this.name = name;
+    }
+
+    // Creates, registers and installs the metrics; replaces any earlier registration.
+    public static JmxSpawnMetrics register(boolean measureAllocation) {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            JmxSpawnMetrics metrics = new JmxSpawnMetrics(measureAllocation, name);
+            server.registerMBean(metrics, name);
+            Metrics.install(metrics);
+            return metrics;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+    }
+
+    // Unregisters the bean and restores the no-op metrics if this one is installed.
+    public void unregister() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister " + OBJECT_NAME, e);
+        }
+        if (Metrics.get() == this) {
+            Metrics.install(null);
+        }
+    }
+
+    @Override
+    public long getBuildCount() {
+        return getBuildLatency().getCount();
+    }
+
+    @Override
+    public double getBuildMeanNanos() {
+        return getBuildLatency().getMean();
+    }
+
+    @Override
+    public long getBuildP99Nanos() {
+        return getBuildLatency().getPercentile(99);
+    }
+
+    @Override
+    public Map<String, Long> getSpawnCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        getSpawnLatencies().forEach((key, histogram) -> counts.put(key, histogram.getCount()));
+        return counts;
+    }
+
+    @Override
+    public Map<String, Double> getSpawnMeanNanos() {
+        Map<String, Double> means = new TreeMap<>();
+        getSpawnLatencies().forEach((key, histogram) -> means.put(key, histogram.getMean()));
+        return means;
+    }
+
+    @Override
+    public Map<String, Long> getSpawnP99Nanos() {
+        Map<String, Long> p99 = new TreeMap<>();
+        getSpawnLatencies().forEach((key, histogram) -> p99.put(key, histogram.getPercentile(99)));
+        return p99;
+    }
+
+    @Override
+    public Map<Integer, Long> getClonesByDepth() {
+        Map<Integer, Long> clones = new TreeMap<>();
+        for (int depth = 0; depth <= MAX_TRACKED_DEPTH; depth++) {
+            long count = getCloneCount(depth);
+            if (count > 0) {
+                clones.put(depth, count);
+            }
+        }
+        return clones;
+    }
+
+    @Override
+    public double getCloneMeanBytes() {
+        return getCloneBytes().getMean();
+    }
+}
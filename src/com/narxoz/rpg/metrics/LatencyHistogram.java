@@ -0,0 +1,62 @@
+package com.narxoz.rpg.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Lock-free histogram with power-of-two buckets, built on striped LongAdders.
+// record() never allocates once the adders have expanded for the contention level.
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = 64;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long value) {
+        record(value, 1);
+    }
+
+    // times values that each took `value`
+    public void record(long value, int times) {
+        long v = Math.max(value, 0);
+        count.add(times);
+        sum.add(v * times);
+        buckets[BUCKETS - Long.numberOfLeadingZeros(v | 1)].add(times);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    // Upper bound of the bucket holding the given percentile (0..100)
+    public long getPercentile(double percentile) {
+        long total = count.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i].sum();
+            if (seen >= Math.max(rank, 1)) {
+                return (1L << i) - 1; // wraps to Long.MAX_VALUE for the top bucket
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+}
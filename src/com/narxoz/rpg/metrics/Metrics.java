@@ -0,0 +1,28 @@
+package com.narxoz.rpg.metrics;
+
+import java.lang.management.ManagementFactory;
+
+// Process-wide SpawnMetrics; the no-op implementation until one is installed.
+public final class Metrics {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static volatile SpawnMetrics current = SpawnMetrics.NOOP;
+
+    private Metrics() {
+    }
+
+    public static SpawnMetrics get() {
+        return current;
+    }
+
+    public static void install(SpawnMetrics metrics) {
+        current = metrics == null ? SpawnMetrics.NOOP : metrics;
+    }
+
+    // Bytes allocated so far by the calling thread
+    public static long threadAllocatedBytes() {
+        return THREADS.getCurrentThreadAllocatedBytes();
+    }
+}
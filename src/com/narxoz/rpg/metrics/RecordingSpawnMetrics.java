@@ -0,0 +1,111 @@
+package com.narxoz.rpg.metrics;
+
+import com.narxoz.rpg.factory.EnemyComponentFactory;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// In-process SpawnMetrics backed by LongAdders and LatencyHistograms.
+// Per-key entries are created on first sight; after that recording is a map
+// lookup plus striped adds, with no allocation.
+public class RecordingSpawnMetrics implements SpawnMetrics {
+
+    public static final int MAX_TRACKED_DEPTH = 16;
+
+    private final boolean measureAllocation;
+    private final LatencyHistogram builds = new LatencyHistogram();
+    private final Map<String, LatencyHistogram> spawns = new ConcurrentHashMap<>();
+    private final LongAdder[] clonesByDepth = new LongAdder[MAX_TRACKED_DEPTH + 1];
+    private final LatencyHistogram cloneBytes = new LatencyHistogram();
+    private final Map<Class<?>, LongAdder> factoryCalls = new ConcurrentHashMap<>();
+
+    public RecordingSpawnMetrics() {
+        this(false);
+    }
+
+    public RecordingSpawnMetrics(boolean measureAllocation) {
+        this.measureAllocation = measureAllocation;
+        for (int i = 0; i < clonesByDepth.length; i++) {
+            clonesByDepth[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public boolean measuresAllocation() {
+        return measureAllocation;
+    }
+
+    @Override
+    public void recordBuild(long nanos) {
+        builds.record(nanos);
+    }
+
+    @Override
+    public void recordSpawn(String templateKey, int count, long nanos) {
+        if (count <= 0) {
+            return;
+        }
+        LatencyHistogram histogram = spawns.get(templateKey);
+        if (histogram == null) {
+            histogram = spawns.computeIfAbsent(templateKey, k -> new LatencyHistogram());
+        }
+        histogram.record(nanos / count, count);
+    }
+
+    @Override
+    public void recordClone(int depth, long bytes) {
+        clonesByDepth[Math.min(Math.max(depth, 0), MAX_TRACKED_DEPTH)].increment();
+        if (bytes >= 0) {
+            cloneBytes.record(bytes);
+        }
+    }
+
+    @Override
+    public void recordFactoryCalls(EnemyComponentFactory factory, int calls) {
+        Class<?> type = factory.getClass();
+        LongAdder adder = factoryCalls.get(type);
+        if (adder == null) {
+            adder = factoryCalls.computeIfAbsent(type, k -> new LongAdder());
+        }
+        adder.add(calls);
+    }
+
+    // -------------------------
+    // READING
+    // -------------------------
+    public LatencyHistogram getBuildLatency() {
+        return builds;
+    }
+
+    // null if nothing was spawned from that key yet
+    public LatencyHistogram getSpawnLatency(String templateKey) {
+        return spawns.get(templateKey);
+    }
+
+    public Map<String, LatencyHistogram> getSpawnLatencies() {
+        return new TreeMap<>(spawns);
+    }
+
+    // Depths above MAX_TRACKED_DEPTH are counted in the last slot
+    public long getCloneCount(int depth) {
+        return clonesByDepth[Math.min(Math.max(depth, 0), MAX_TRACKED_DEPTH)].sum();
+    }
+
+    public LatencyHistogram getCloneBytes() {
+        return cloneBytes;
+    }
+
+    // Simple class name -> number of create* calls
+    public Map<String, Long> getFactoryCalls() {
+        Map<String, Long> calls = new TreeMap<>();
+        factoryCalls.forEach((type, adder) -> calls.put(type.getSimpleName(), adder.sum()));
+        return calls;
+    }
+}
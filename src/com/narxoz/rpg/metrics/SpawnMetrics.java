@@ -0,0 +1,51 @@
+package com.narxoz.rpg.metrics;
+
+import com.narxoz.rpg.factory.EnemyComponentFactory;
+
+// Pluggable sink for creational-layer metrics; install one with Metrics.install.
+// Implementations are called on spawn hot paths from many threads and must not
+// allocate or block. Call sites skip all measuring when isEnabled() is false.
+public interface SpawnMetrics {
+
+    SpawnMetrics NOOP = new SpawnMetrics() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void recordBuild(long nanos) {
+        }
+
+        @Override
+        public void recordSpawn(String templateKey, int count, long nanos) {
+        }
+
+        @Override
+        public void recordClone(int depth, long bytes) {
+        }
+
+        @Override
+        public void recordFactoryCalls(EnemyComponentFactory factory, int calls) {
+        }
+    };
+
+    boolean isEnabled();
+
+    // If true, clone sites also measure allocated bytes (costs a native call per clone)
+    default boolean measuresAllocation() {
+        return false;
+    }
+
+    // One EnemyBuilder.build() call
+    void recordBuild(long nanos);
+
+    // count enemies spawned from one registry template in nanos total
+    void recordSpawn(String templateKey, int count, long nanos);
+
+    // depth = clone generations from the originally built enemy; bytes = -1 if not measured
+    void recordClone(int depth, long bytes);
+
+    // calls create* invocations on the factory
+    void recordFactoryCalls(EnemyComponentFactory factory, int calls);
+}
@@ -0,0 +1,29 @@
+package com.narxoz.rpg.metrics;
+
+import java.util.Map;
+
+// Management view of JmxSpawnMetrics (jconsole, VisualVM, ...)
+public interface SpawnMetricsMXBean {
+
+    long getBuildCount();
+
+    double getBuildMeanNanos();
+
+    long getBuildP99Nanos();
+
+    // template key -> spawned enemies
+    Map<String, Long> getSpawnCounts();
+
+    // template key -> mean nanos per spawned enemy
+    Map<String, Double> getSpawnMeanNanos();
+
+    // template key -> p99 nanos per spawned enemy
+    Map<String, Long> getSpawnP99Nanos();
+
+    // depth -> clones
+    Map<Integer, Long> getClonesByDepth();
+
+    double getCloneMeanBytes();
+
+    Map<String, Long> getFactoryCalls();
+}
@@ -0,0 +1,128 @@
+package com.narxoz.rpg.prototype;
+
+import com.narxoz.rpg.catalog.TemplateCatalog;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+// Background reloader for one catalog file, created by EnemyRegistry.watchCatalog.
+// Each change is recompiled off the spawn path and published as a new registry
+// generation; a catalog that fails to load is reported and the old one stays live.
+public final class CatalogWatcher implements AutoCloseable {
+
+    // Editors often write a file in several steps; wait for them to settle
+    private static final long SETTLE_MILLIS = 50;
+
+    private final EnemyRegistry registry;
+    private final Path source;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    private volatile TemplateCatalog current;
+    private volatile long reloads;
+    private volatile long failures;
+    private volatile long lastReloadNanos;
+    private volatile long lastGeneration;
+    private volatile RuntimeException lastError;
+
+    CatalogWatcher(EnemyRegistry registry, Path source, TemplateCatalog initial) {
+        this.registry = registry;
+        this.source = source.toAbsolutePath();
+        this.current = initial;
+        this.lastGeneration = registry.getVersion();
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+            this.source.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot watch " + source, e);
+        }
+        this.thread = new Thread(this::watch, "catalog-watcher-" + source.getFileName());
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    // Reloads now, without waiting for a file event. Returns true if a new generation was published.
+    public synchronized boolean reload() {
+        long start = System.nanoTime();
+        try {
+            TemplateCatalog fresh = TemplateCatalog.open(source);
+            registry.replaceCatalog(current, fresh);
+            current = fresh;
+            lastGeneration = registry.getVersion();
+            lastReloadNanos = System.nanoTime() - start;
+            lastError = null;
+            reloads++;
+            return true;
+        } catch (RuntimeException e) {
+            lastError = e;
+            failures++;
+            return false;
+        }
+    }
+
+    public long getReloadCount() {
+        return reloads;
+    }
+
+    public long getFailedReloadCount() {
+        return failures;
+    }
+
+    // Time from noticing the change to the new generation being live
+    public long getLastReloadNanos() {
+        return lastReloadNanos;
+    }
+
+    public long getLastGeneration() {
+        return lastGeneration;
+    }
+
+    // Why the last reload failed, or null if it succeeded
+    public RuntimeException getLastError() {
+        return lastError;
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        thread.interrupt();
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    Object context = event.context();
+                    if (context instanceof Path && source.getFileName().equals(context)) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+                if (changed) {
+                    Thread.sleep(SETTLE_MILLIS);
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.narxoz.rpg.prototype;
+
+import com.narxoz.rpg.enemy.Enemy;
+import com.narxoz.rpg.metrics.Metrics;
+import com.narxoz.rpg.metrics.SpawnMetrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Spawns registry enemies like createFromTemplate, but takes them back through
+// release() and hands them out again, reset in place from the current template,
+// instead of leaving a short-lived mob to the garbage collector.
+//
+// Free lists are per thread and per template key, bounded by maxPerKey; an enemy
+// released beyond that is simply dropped. A released enemy must not be touched
+// again by the caller, and releasing it twice always throws. In debug mode every
+// acquired enemy is also tracked with its acquisition site, so releasing a
+// foreign enemy throws and leakSites() lists enemies that were never given back.
+// Thread-safe.
+public final class EnemyRecycler {
+
+    public static final int DEFAULT_MAX_PER_KEY = 256;
+
+    private static final class FreeList {
+        final Enemy[] items;
+        int size;
+
+        FreeList(int capacity) {
+            this.items = new Enemy[capacity];
+        }
+    }
+
+    private final EnemyRegistry registry;
+    private final int maxPerKey;
+    private final boolean debug;
+    private final ThreadLocal<Map<String, FreeList>> freeLists = ThreadLocal.withInitial(HashMap::new);
+
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder released = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+
+    // Debug mode only: enemies handed out and not yet released, with where they were acquired
+    private final Map<Enemy, Throwable> outstanding;
+
+    public EnemyRecycler(EnemyRegistry registry) {
+        this(registry, DEFAULT_MAX_PER_KEY, false);
+    }
+
+    public EnemyRecycler(EnemyRegistry registry, int maxPerKey, boolean debug) {
+        if (registry == null) {
+            throw new IllegalArgumentException("Registry is required");
+        }
+        if (maxPerKey < 0) {
+            throw new IllegalArgumentException("Pool size must not be negative: " + maxPerKey);
+        }
+        this.registry = registry;
+        this.maxPerKey = maxPerKey;
+        this.debug = debug;
+        this.outstanding = debug ? Collections.synchronizedMap(new IdentityHashMap<>()) : null;
+    }
+
+    // -------------------------
+    // ACQUIRE / RELEASE
+    // -------------------------
+    public Enemy acquire(String key) {
+        SpawnMetrics metrics = Metrics.get();
+        if (!metrics.isEnabled()) {
+            Enemy enemy = acquireInternal(key);
+            EnemyRegistry.logSpawn(key, 1);
+            return enemy;
+        }
+        long start = System.nanoTime();
+        Enemy enemy = acquireInternal(key);
+        metrics.recordSpawn(key, 1, System.nanoTime() - start);
+        EnemyRegistry.logSpawn(key, 1);
+        return enemy;
+    }
+
+    private Enemy acquireInternal(String key) {
+        Enemy template = registry.resolve(key);
+        Enemy enemy = pop(key);
+        if (enemy != null && enemy.getClass() == template.getClass()) {
+            enemy.reinitFrom(template);
+            reused.increment();
+        } else {
+            if (enemy != null) {
+                discarded.increment(); // template was replaced by a different class
+            }
+            enemy = template.clone();
+            created.increment();
+        }
+        if (debug) {
+            outstanding.put(enemy, new Throwable("Acquired " + key + " here"));
+        }
+        return enemy;
+    }
+
+    public void release(Enemy enemy) {
+        if (enemy == null) {
+            throw new IllegalArgumentException("Enemy is required");
+        }
+        String key = enemy.getTemplateKey();
+        if (key == null) {
+            throw new IllegalArgumentException("Enemy was not spawned from a template: " + enemy.getName());
+        }
+        if (debug && outstanding.remove(enemy) == null) {
+            throw new IllegalStateException("Enemy released twice or not acquired from this recycler: "
+                    + enemy.getName());
+        }
+        if (!enemy.markReleased()) {
+            throw new IllegalStateException("Enemy released twice: " + enemy.getName());
+        }
+        released.increment();
+        Map<String, FreeList> lists = freeLists.get();
+        FreeList list = lists.get(key);
+        if (list == null) {
+            list = new FreeList(maxPerKey);
+            lists.put(key, list);
+        }
+        if (list.size == list.items.length) {
+            discarded.increment();
+            return;
+        }
+        list.items[list.size++] = enemy;
+    }
+
+    private Enemy pop(String key) {
+        FreeList list = freeLists.get().get(key);
+        if (list == null || list.size == 0) {
+            return null;
+        }
+        Enemy enemy = list.items[--list.size];
+        list.items[list.size] = null;
+        return enemy;
+    }
+
+    // -------------------------
+    // STATS
+    // -------------------------
+    public boolean isDebug() {
+        return debug;
+    }
+
+    public int getMaxPerKey() {
+        return maxPerKey;
+    }
+
+    // Acquisitions served from a free list
+    public long getReused() {
+        return reused.sum();
+    }
+
+    // Acquisitions that had to clone the template
+    public long getCreated() {
+        return created.sum();
+    }
+
+    // Released enemies dropped because their free list was full or stale
+    public long getDiscarded() {
+        return discarded.sum();
+    }
+
+    // Acquired and not yet released
+    public long getOutstanding() {
+        return reused.sum() + created.sum() - released.sum();
+    }
+
+    // Debug mode: acquisition sites of all outstanding enemies; empty otherwise
+    public List<Throwable> leakSites() {
+        if (!debug) {
+            return List.of();
+        }
+        synchronized (outstanding) {
+            return new ArrayList<>(outstanding.values());
+        }
+    }
+}
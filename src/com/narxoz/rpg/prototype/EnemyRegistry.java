@@ -1,30 +1,332 @@
 package com.narxoz.rpg.prototype;
 
+import com.narxoz.rpg.catalog.TemplateCatalog;
 import com.narxoz.rpg.enemy.Enemy;
+import com.narxoz.rpg.eventlog.CombatLog;
+import com.narxoz.rpg.eventlog.EventLog;
+import com.narxoz.rpg.metrics.Metrics;
+import com.narxoz.rpg.metrics.SpawnMetrics;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ObjIntConsumer;
+import java.util.function.UnaryOperator;
 
 public class EnemyRegistry {
 
-    private final Map<String, Enemy> templates = new HashMap<>();
+    // Immutable view of all templates. Readers grab the current snapshot with a
+    // single volatile read and never block; writers publish a whole new snapshot.
+    // Variant and catalog templates are resolved on first use and cached per snapshot.
+    private static final class Snapshot {
+        final Map<String, Enemy> templates;
+        final Map<String, Variant> variants;
+        final List<TemplateCatalog> catalogs;
+        final long version;
+        final Map<String, Enemy> resolved = new ConcurrentHashMap<>();
+        volatile Set<String> keys;
+
+        Snapshot(Map<String, Enemy> templates, Map<String, Variant> variants,
+                 List<TemplateCatalog> catalogs, long version) {
+            this.templates = templates;
+            this.variants = variants;
+            this.catalogs = catalogs;
+            this.version = version;
+        }
+
+        Snapshot withTemplates(Map<String, Enemy> templates) {
+            return new Snapshot(Collections.unmodifiableMap(templates), variants, catalogs, version + 1);
+        }
+
+        Snapshot withVariants(Map<String, Variant> variants) {
+            return new Snapshot(templates, Collections.unmodifiableMap(variants), catalogs, version + 1);
+        }
+
+        Snapshot withCatalogs(List<TemplateCatalog> catalogs) {
+            return new Snapshot(templates, variants, Collections.unmodifiableList(catalogs), version + 1);
+        }
+    }
+
+    private static final class Variant {
+        final String parentKey;
+        final TemplateVariant delta;
+
+        Variant(String parentKey, TemplateVariant delta) {
+            this.parentKey = parentKey;
+            this.delta = delta;
+        }
+    }
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(
+            new Snapshot(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyList(), 0));
 
     // register base template
+    // The registry keeps its own private copy, so later changes to the caller's
+    // enemy never leak into spawned clones and readers only ever see a complete template.
     public void registerTemplate(String key, Enemy enemy) {
-        templates.put(key, enemy);
+        if (key == null || enemy == null) {
+            throw new IllegalArgumentException("Template key and enemy are required");
+        }
+        Enemy template = enemy.clone();
+        update(current -> {
+            Map<String, Enemy> copy = new HashMap<>(current.templates);
+            template.setOrigin(key, current.version + 1);
+            copy.put(key, template);
+            return current.withTemplates(copy);
+        });
     }
 
+    public boolean removeTemplate(String key) {
+        Snapshot before = update(current -> {
+            if (!current.templates.containsKey(key)) {
+                return current;
+            }
+            Map<String, Enemy> copy = new HashMap<>(current.templates);
+            copy.remove(key);
+            return current.withTemplates(copy);
+        });
+        return before.templates.containsKey(key);
+    }
+
+    // Variant template: the parent (a template, variant or catalog key) with the
+    // delta applied. Resolved once per registry generation, so changing the parent
+    // is picked up by the variant's next spawn.
+    public void registerVariant(String key, String parentKey, TemplateVariant delta) {
+        if (key == null || parentKey == null || delta == null) {
+            throw new IllegalArgumentException("Variant key, parent key and delta are required");
+        }
+        update(current -> {
+            for (String k = parentKey; k != null; ) {
+                if (k.equals(key)) {
+                    throw new IllegalArgumentException("Variant " + key + " would be its own ancestor");
+                }
+                Variant parent = current.variants.get(k);
+                k = parent == null ? null : parent.parentKey;
+            }
+            Map<String, Variant> copy = new HashMap<>(current.variants);
+            copy.put(key, new Variant(parentKey, delta));
+            return current.withVariants(copy);
+        });
+    }
+
+    public boolean removeVariant(String key) {
+        Snapshot before = update(current -> {
+            if (!current.variants.containsKey(key)) {
+                return current;
+            }
+            Map<String, Variant> copy = new HashMap<>(current.variants);
+            copy.remove(key);
+            return current.withVariants(copy);
+        });
+        return before.variants.containsKey(key);
+    }
+
+    // Catalog keys become available as templates; explicitly registered
+    // templates win, then variants, and later catalogs win over earlier ones.
+    public void registerCatalog(TemplateCatalog catalog) {
+        if (catalog == null) {
+            throw new IllegalArgumentException("Catalog is required");
+        }
+        update(current -> {
+            List<TemplateCatalog> catalogs = new ArrayList<>(current.catalogs);
+            catalogs.add(catalog);
+            return current.withCatalogs(catalogs);
+        });
+    }
+
+    // Hot reload: swaps one catalog for its freshly loaded replacement as a new
+    // generation. Catalog and variant templates already resolved are rebuilt
+    // before publishing, so spawners never pay for decoding. Calls that already
+    // hold the old snapshot finish against it; later calls see the new one.
+    public void replaceCatalog(TemplateCatalog previous, TemplateCatalog replacement) {
+        update(current -> {
+            List<TemplateCatalog> catalogs = new ArrayList<>(current.catalogs);
+            int index = catalogs.indexOf(previous);
+            if (index >= 0) {
+                catalogs.set(index, replacement);
+            } else {
+                catalogs.add(replacement);
+            }
+            Snapshot next = current.withCatalogs(catalogs);
+            for (String key : current.resolved.keySet()) {
+                try {
+                    resolve(next, key);
+                } catch (IllegalArgumentException e) {
+                    // Key (or a variant's parent) was removed from the catalog
+                }
+            }
+            return next;
+        });
+    }
+
+    // Registers the catalog and reloads it in the background whenever the file changes.
+    public CatalogWatcher watchCatalog(Path source) {
+        TemplateCatalog catalog = TemplateCatalog.open(source);
+        registerCatalog(catalog);
+        CatalogWatcher watcher = new CatalogWatcher(this, source, catalog);
+        watcher.start();
+        return watcher;
+    }
+
+    // CAS loop; returns the snapshot the change was applied to
+    private Snapshot update(UnaryOperator<Snapshot> change) {
+        Snapshot current;
+        Snapshot next;
+        do {
+            current = snapshot.get();
+            next = change.apply(current);
+        } while (next != current && !snapshot.compareAndSet(current, next));
+        return current;
+    }
 
     public Enemy createFromTemplate(String key) {
-        Enemy template = templates.get(key);
+        SpawnMetrics metrics = Metrics.get();
+        if (!metrics.isEnabled()) {
+            Enemy enemy = resolve(key).clone();
+            logSpawn(key, 1);
+            return enemy;
+        }
+        long start = System.nanoTime();
+        Enemy enemy = resolve(key).clone();
+        metrics.recordSpawn(key, 1, System.nanoTime() - start);
+        logSpawn(key, 1);
+        return enemy;
+    }
+
+    public List<Enemy> spawn(String key, int count) {
+        return spawn(key, count, null);
+    }
+
+    // Batch spawn: the template is looked up once for the whole wave.
+    // variantFn (optional) receives each clone and its index in the batch.
+    public List<Enemy> spawn(String key, int count, ObjIntConsumer<Enemy> variantFn) {
+        SpawnMetrics metrics = Metrics.get();
+        if (!metrics.isEnabled()) {
+            List<Enemy> enemies = cloneBatch(resolve(key), count, variantFn);
+            logSpawn(key, count);
+            return enemies;
+        }
+        long start = System.nanoTime();
+        List<Enemy> enemies = cloneBatch(resolve(key), count, variantFn);
+        metrics.recordSpawn(key, count, System.nanoTime() - start);
+        logSpawn(key, count);
+        return enemies;
+    }
+
+    // Only after the spawn succeeded, so an unknown key never shows up as a spawn
+    static void logSpawn(String key, int count) {
+        EventLog log = CombatLog.get();
+        if (log != null) {
+            log.spawn(key, count);
+        }
+    }
+
+    public static List<Enemy> cloneBatch(Enemy prototype, int count,
+                                         ObjIntConsumer<Enemy> variantFn) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Spawn count must not be negative: " + count);
+        }
+        List<Enemy> enemies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Enemy enemy = prototype.clone();
+            if (variantFn != null) {
+                variantFn.accept(enemy, i);
+            }
+            enemies.add(enemy);
+        }
+        return enemies;
+    }
+
+    // The published template for key, or null if there is none, looked up in one
+    // registry snapshot. Not a spawn: nothing is logged or metered. Read only:
+    // the instance is shared by every spawn of the key, so clone it to modify it.
+    public Enemy findTemplate(String key) {
+        Snapshot current = snapshot.get();
+        if (current.templates.containsKey(key) || current.variants.containsKey(key)) {
+            return resolve(current, key);
+        }
+        for (TemplateCatalog catalog : current.catalogs) {
+            if (catalog.contains(key)) {
+                return resolve(current, key);
+            }
+        }
+        return null;
+    }
+
+    // The published template itself, not a copy; EnemyRecycler resets pooled enemies from it
+    Enemy resolve(String key) {
+        return resolve(snapshot.get(), key);
+    }
+
+    private static Enemy resolve(Snapshot current, String key) {
+        Enemy template = current.templates.get(key);
         if (template == null) {
-            throw new IllegalArgumentException("No enemy template found for key: " + key);
+            template = current.resolved.get(key);
         }
-        return template.clone();
+        if (template == null) {
+            Variant variant = current.variants.get(key);
+            template = variant != null
+                    ? resolveVariant(current, key, variant)
+                    : resolveFromCatalogs(current, key);
+        }
+        return template;
+    }
+
+    // Flattens the variant into a plain prototype: clone of the parent with the delta applied
+    private static Enemy resolveVariant(Snapshot current, String key, Variant variant) {
+        Enemy parent = resolve(current, variant.parentKey); // outside computeIfAbsent: it may recurse
+        return current.resolved.computeIfAbsent(key, k -> {
+            Enemy template = parent.clone();
+            variant.delta.applyTo(template);
+            template.setOrigin(k, current.version);
+            return template;
+        });
     }
 
+    private static Enemy resolveFromCatalogs(Snapshot current, String key) {
+        for (int i = current.catalogs.size() - 1; i >= 0; i--) {
+            TemplateCatalog catalog = current.catalogs.get(i);
+            if (catalog.contains(key)) {
+                return current.resolved.computeIfAbsent(key, k -> {
+                    Enemy template = catalog.createFromTemplate(k);
+                    template.setOrigin(k, current.version);
+                    return template;
+                });
+            }
+        }
+        throw new IllegalArgumentException("No enemy template found for key: " + key);
+    }
+
+    // Stable snapshot: later registrations do not change the returned set.
     public Set<String> listTemplates() {
-        return templates.keySet();
+        Snapshot current = snapshot.get();
+        if (current.catalogs.isEmpty() && current.variants.isEmpty()) {
+            return current.templates.keySet();
+        }
+        Set<String> keys = current.keys;
+        if (keys == null) {
+            Set<String> all = new LinkedHashSet<>(current.templates.keySet());
+            all.addAll(current.variants.keySet());
+            for (TemplateCatalog catalog : current.catalogs) {
+                all.addAll(catalog.keys());
+            }
+            keys = Collections.unmodifiableSet(all);
+            current.keys = keys;
+        }
+        return keys;
+    }
+
+    // Current generation: bumped on every register, remove and catalog reload.
+    // Spawned enemies report the generation of their template via Enemy.getGeneration();
+    // for variants that is the generation they were resolved in.
+    public long getVersion() {
+        return snapshot.get().version;
     }
-}
\ No newline at end of file
+}
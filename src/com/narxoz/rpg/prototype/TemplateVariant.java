@@ -0,0 +1,125 @@
+package com.narxoz.rpg.prototype;
+
+import com.narxoz.rpg.combat.Ability;
+import com.narxoz.rpg.enemy.Element;
+import com.narxoz.rpg.enemy.Enemy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// The difference between a variant template and its parent: stat multipliers,
+// an optional element override and extra abilities. Immutable.
+// EnemyRegistry applies it once to a clone of the parent and caches the result,
+// so a variant spawns at the cost of a plain template.
+public final class TemplateVariant {
+
+    private final double healthMultiplier;
+    private final double damageMultiplier;
+    private final double defenseMultiplier;
+    private final Element element;
+    private final List<Ability> extraAbilities;
+
+    private TemplateVariant(Builder builder) {
+        this.healthMultiplier = builder.healthMultiplier;
+        this.damageMultiplier = builder.damageMultiplier;
+        this.defenseMultiplier = builder.defenseMultiplier;
+        this.element = builder.element;
+        this.extraAbilities = List.copyOf(builder.extraAbilities);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Same as createFromTemplate(parent).multiplyStats(multiplier), as a registered variant
+    public static TemplateVariant multiplied(double multiplier) {
+        return builder().multiplyStats(multiplier).build();
+    }
+
+    public double getHealthMultiplier() {
+        return healthMultiplier;
+    }
+
+    public double getDamageMultiplier() {
+        return damageMultiplier;
+    }
+
+    public double getDefenseMultiplier() {
+        return defenseMultiplier;
+    }
+
+    // null keeps the parent's element
+    public Element getElement() {
+        return element;
+    }
+
+    public List<Ability> getExtraAbilities() {
+        return extraAbilities;
+    }
+
+    // Applies the delta to a private copy of the parent
+    void applyTo(Enemy enemy) {
+        enemy.multiplyStats(healthMultiplier, damageMultiplier, defenseMultiplier);
+        if (element != null) {
+            enemy.setElement(element);
+        }
+        for (int i = 0; i < extraAbilities.size(); i++) {
+            enemy.addAbility(extraAbilities.get(i));
+        }
+    }
+
+    public static final class Builder {
+        private double healthMultiplier = 1.0;
+        private double damageMultiplier = 1.0;
+        private double defenseMultiplier = 1.0;
+        private Element element;
+        private final List<Ability> extraAbilities = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        // Health, damage and defense, like Enemy.multiplyStats
+        public Builder multiplyStats(double multiplier) {
+            return multiplyHealth(multiplier).multiplyDamage(multiplier).multiplyDefense(multiplier);
+        }
+
+        public Builder multiplyHealth(double multiplier) {
+            healthMultiplier *= checkMultiplier(multiplier);
+            return this;
+        }
+
+        public Builder multiplyDamage(double multiplier) {
+            damageMultiplier *= checkMultiplier(multiplier);
+            return this;
+        }
+
+        public Builder multiplyDefense(double multiplier) {
+            defenseMultiplier *= checkMultiplier(multiplier);
+            return this;
+        }
+
+        public Builder element(Element element) {
+            this.element = element;
+            return this;
+        }
+
+        public Builder addAbility(Ability ability) {
+            if (ability == null) {
+                throw new IllegalArgumentException("Ability is required");
+            }
+            extraAbilities.add(ability);
+            return this;
+        }
+
+        public TemplateVariant build() {
+            return new TemplateVariant(this);
+        }
+
+        private static double checkMultiplier(double multiplier) {
+            if (!(multiplier >= 0) || Double.isInfinite(multiplier)) {
+                throw new IllegalArgumentException("Stat multiplier must be finite and not negative: " + multiplier);
+            }
+            return multiplier;
+        }
+    }
+}
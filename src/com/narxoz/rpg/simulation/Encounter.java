@@ -0,0 +1,109 @@
+package com.narxoz.rpg.simulation;
+
+import com.narxoz.rpg.combat.Ability;
+import com.narxoz.rpg.combat.AbilityType;
+import com.narxoz.rpg.enemy.DragonBoss;
+import com.narxoz.rpg.enemy.Enemy;
+import com.narxoz.rpg.enemy.PhaseTable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// A party of heroes against a group of enemies. Immutable and shared by every
+// simulation thread: the enemies are read once here and flattened into
+// primitive columns, so simulators never touch Enemy objects.
+public final class Encounter {
+
+    public static final int DEFAULT_MAX_ROUNDS = 100;
+
+    private final List<Hero> party;
+    private final List<String> enemyNames;
+    private final int maxRounds;
+
+    // Per-enemy columns
+    final int[] enemyHealth;
+    final int[] enemyDamage;
+    final int[] enemyDefense;
+    final int[] enemySpeed;
+    final PhaseTable[] enemyPhases;    // PhaseTable.EMPTY for non-bosses
+    final int[] abilityStart;          // enemy i uses abilities [abilityStart[i], abilityStart[i + 1])
+
+    // Per-ability columns
+    final AbilityType[] abilityTypes;
+    final int[] abilityDamage;
+    final int[] abilityParameter;      // slow % for frost, blind turns for shadow
+    final String[] abilityNames;       // for the combat log
+
+    public Encounter(List<Hero> party, List<? extends Enemy> enemies) {
+        this(party, enemies, DEFAULT_MAX_ROUNDS);
+    }
+
+    public Encounter(List<Hero> party, List<? extends Enemy> enemies, int maxRounds) {
+        if (party == null || party.isEmpty() || enemies == null || enemies.isEmpty()) {
+            throw new IllegalArgumentException("An encounter needs at least one hero and one enemy");
+        }
+        if (maxRounds <= 0) {
+            throw new IllegalArgumentException("Max rounds must be positive: " + maxRounds);
+        }
+        this.party = List.copyOf(party);
+        this.maxRounds = maxRounds;
+
+        int count = enemies.size();
+        List<String> names = new ArrayList<>(count);
+        enemyHealth = new int[count];
+        enemyDamage = new int[count];
+        enemyDefense = new int[count];
+        enemySpeed = new int[count];
+        enemyPhases = new PhaseTable[count];
+        abilityStart = new int[count + 1];
+
+        int abilities = 0;
+        for (Enemy enemy : enemies) {
+            abilities += enemy.abilityCount();
+        }
+        abilityTypes = new AbilityType[abilities];
+        abilityDamage = new int[abilities];
+        abilityParameter = new int[abilities];
+        abilityNames = new String[abilities];
+
+        int next = 0;
+        for (int i = 0; i < count; i++) {
+            Enemy enemy = enemies.get(i);
+            names.add(enemy.getName());
+            enemyHealth[i] = enemy.getHealth();
+            enemyDamage[i] = enemy.getDamage();
+            enemyDefense[i] = enemy.getDefense();
+            enemySpeed[i] = enemy.getSpeed();
+            enemyPhases[i] = enemy instanceof DragonBoss
+                    ? ((DragonBoss) enemy).getPhases()
+                    : PhaseTable.EMPTY;
+            abilityStart[i] = next;
+            for (int a = 0, n = enemy.abilityCount(); a < n; a++) {
+                Ability ability = enemy.abilityAt(a);
+                abilityTypes[next] = AbilityType.of(ability);
+                abilityDamage[next] = ability.getDamage();
+                abilityParameter[next] = AbilityType.parameter(ability);
+                abilityNames[next] = ability.getName();
+                next++;
+            }
+        }
+        abilityStart[count] = next;
+        enemyNames = List.copyOf(names);
+    }
+
+    public List<Hero> getParty() {
+        return party;
+    }
+
+    public int getEnemyCount() {
+        return enemyHealth.length;
+    }
+
+    public List<String> getEnemyNames() {
+        return enemyNames;
+    }
+
+    public int getMaxRounds() {
+        return maxRounds;
+    }
+}
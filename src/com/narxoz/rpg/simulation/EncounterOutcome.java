@@ -0,0 +1,67 @@
+package com.narxoz.rpg.simulation;
+
+// Result of one simulated encounter. Mutable so a simulator can reuse one
+// instance for every encounter it runs.
+public final class EncounterOutcome {
+
+    public enum Winner {
+        HEROES,
+        ENEMIES,
+        DRAW
+    }
+
+    private Winner winner;
+    private int rounds;
+    private int heroesAlive;
+    private int enemiesAlive;
+    private int phaseChanges;
+    private long damageToEnemies;
+    private long damageToHeroes;
+
+    void set(Winner winner, int rounds, int heroesAlive, int enemiesAlive,
+             int phaseChanges, long damageToEnemies, long damageToHeroes) {
+        this.winner = winner;
+        this.rounds = rounds;
+        this.heroesAlive = heroesAlive;
+        this.enemiesAlive = enemiesAlive;
+        this.phaseChanges = phaseChanges;
+        this.damageToEnemies = damageToEnemies;
+        this.damageToHeroes = damageToHeroes;
+    }
+
+    public Winner getWinner() {
+        return winner;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    public int getHeroesAlive() {
+        return heroesAlive;
+    }
+
+    public int getEnemiesAlive() {
+        return enemiesAlive;
+    }
+
+    // Boss phase transitions across all enemies in the encounter
+    public int getPhaseChanges() {
+        return phaseChanges;
+    }
+
+    public long getDamageToEnemies() {
+        return damageToEnemies;
+    }
+
+    public long getDamageToHeroes() {
+        return damageToHeroes;
+    }
+
+    @Override
+    public String toString() {
+        return "EncounterOutcome{winner=" + winner + ", rounds=" + rounds
+                + ", heroesAlive=" + heroesAlive + ", enemiesAlive=" + enemiesAlive
+                + ", phaseChanges=" + phaseChanges + "}";
+    }
+}
@@ -0,0 +1,235 @@
+package com.narxoz.rpg.simulation;
+
+import com.narxoz.rpg.combat.AbilityType;
+import com.narxoz.rpg.enemy.PhaseTable;
+import com.narxoz.rpg.eventlog.CombatLog;
+import com.narxoz.rpg.eventlog.EventLog;
+import com.narxoz.rpg.loot.LootRoller;
+
+import java.util.List;
+
+// Runs encounters turn by turn on primitive scratch arrays. One simulator per
+// thread: it is not thread-safe, but after construction run() allocates nothing.
+// The outcome depends only on the encounter and the seed.
+//
+// Rules:
+//   - every round, living units act in order of effective speed (ties: heroes
+//     first, then by position);
+//   - heroes focus the living enemy with the lowest health;
+//   - enemies hit a random living hero and use their next ability every
+//     ABILITY_EVERY turns, cycling through their ability list;
+//   - hits roll 90..110% damage; plain attacks subtract full defense, abilities half;
+//   - FrostBreath slows the target by its percentage for SLOW_ROUNDS rounds;
+//   - ShadowStrike blinds the target for its duration: a blind unit loses its turns;
+//   - a DragonBoss deals PHASE_DAMAGE_BONUS % more damage per phase number it has reached.
+public final class EncounterSimulator {
+
+    public static final int ABILITY_EVERY = 3;
+    public static final int SLOW_ROUNDS = 2;
+    public static final int PHASE_DAMAGE_BONUS = 25;
+
+    private final Encounter encounter;
+    private final int heroes;
+    private final int units;
+
+    // Unit columns: heroes first, then enemies
+    private final int[] maxHealth;
+    private final int[] damage;
+    private final int[] defense;
+    private final int[] speed;
+    private final int[] health;
+    private final int[] slowPercent;
+    private final int[] slowRounds;
+    private final int[] blindTurns;
+    private final int[] turns;
+    private final int[] phase;
+    private final int[] order;
+    private final int[] initiative;
+
+    private long rngState;
+    private EventLog log; // CombatLog of the current run, null when off
+
+    public EncounterSimulator(Encounter encounter) {
+        this.encounter = encounter;
+        List<Hero> party = encounter.getParty();
+        heroes = party.size();
+        units = heroes + encounter.getEnemyCount();
+        maxHealth = new int[units];
+        damage = new int[units];
+        defense = new int[units];
+        speed = new int[units];
+        health = new int[units];
+        slowPercent = new int[units];
+        slowRounds = new int[units];
+        blindTurns = new int[units];
+        turns = new int[units];
+        phase = new int[units];
+        order = new int[units];
+        initiative = new int[units];
+        for (int i = 0; i < heroes; i++) {
+            Hero hero = party.get(i);
+            maxHealth[i] = hero.getHealth();
+            damage[i] = hero.getDamage();
+            defense[i] = hero.getDefense();
+            speed[i] = hero.getSpeed();
+        }
+        for (int e = 0; e < encounter.getEnemyCount(); e++) {
+            int u = heroes + e;
+            maxHealth[u] = encounter.enemyHealth[e];
+            damage[u] = encounter.enemyDamage[e];
+            defense[u] = encounter.enemyDefense[e];
+            speed[u] = encounter.enemySpeed[e];
+        }
+    }
+
+    public Encounter getEncounter() {
+        return encounter;
+    }
+
+    // Ability uses are written to the installed CombatLog; plain attacks are not.
+    public void run(long seed, EncounterOutcome out) {
+        rngState = seed;
+        log = CombatLog.get();
+        System.arraycopy(maxHealth, 0, health, 0, units);
+        for (int u = 0; u < units; u++) {
+            slowPercent[u] = 0;
+            slowRounds[u] = 0;
+            blindTurns[u] = 0;
+            turns[u] = 0;
+            phase[u] = u < heroes ? PhaseTable.NO_PHASE : encounter.enemyPhases[u - heroes].phaseFor(health[u]);
+        }
+
+        int heroesAlive = countAlive(0, heroes);
+        int enemiesAlive = countAlive(heroes, units);
+        int phaseChanges = 0;
+        long damageToEnemies = 0;
+        long damageToHeroes = 0;
+        int round = 0;
+
+        while (heroesAlive > 0 && enemiesAlive > 0 && round < encounter.getMaxRounds()) {
+            round++;
+            sortByInitiative();
+            for (int k = 0; k < units && heroesAlive > 0 && enemiesAlive > 0; k++) {
+                int actor = order[k];
+                if (health[actor] <= 0) {
+                    continue;
+                }
+                if (blindTurns[actor] > 0) {
+                    blindTurns[actor]--;
+                    continue;
+                }
+                if (actor < heroes) {
+                    int target = weakestEnemy();
+                    int dealt = hit(target, damage[actor], defense[target]);
+                    damageToEnemies += dealt;
+                    if (health[target] <= 0) {
+                        enemiesAlive--;
+                    }
+                    int newPhase = encounter.enemyPhases[target - heroes].phaseFor(health[target]);
+                    if (newPhase != phase[target]) {
+                        phase[target] = newPhase;
+                        phaseChanges++;
+                    }
+                } else {
+                    int target = randomLivingHero(heroesAlive);
+                    damageToHeroes += enemyTurn(actor, target);
+                    if (health[target] <= 0) {
+                        heroesAlive--;
+                    }
+                }
+            }
+            for (int u = 0; u < units; u++) {
+                if (slowRounds[u] > 0 && --slowRounds[u] == 0) {
+                    slowPercent[u] = 0;
+                }
+            }
+        }
+
+        EncounterOutcome.Winner winner = enemiesAlive == 0 ? EncounterOutcome.Winner.HEROES
+                : heroesAlive == 0 ? EncounterOutcome.Winner.ENEMIES
+                : EncounterOutcome.Winner.DRAW;
+        out.set(winner, round, heroesAlive, enemiesAlive, phaseChanges, damageToEnemies, damageToHeroes);
+    }
+
+    // Returns the damage dealt
+    private int enemyTurn(int actor, int target) {
+        int e = actor - heroes;
+        int bonus = 100 + PHASE_DAMAGE_BONUS * phase[actor];
+        int first = encounter.abilityStart[e];
+        int abilities = encounter.abilityStart[e + 1] - first;
+        int turn = ++turns[actor];
+
+        if (abilities == 0 || turn % ABILITY_EVERY != 0) {
+            return hit(target, damage[actor] * bonus / 100, defense[target]);
+        }
+        int a = first + (turn / ABILITY_EVERY - 1) % abilities;
+        int dealt = hit(target, encounter.abilityDamage[a] * bonus / 100, defense[target] / 2);
+        if (log != null) {
+            log.ability(encounter.abilityNames[a], dealt, e);
+        }
+        AbilityType type = encounter.abilityTypes[a];
+        if (type == AbilityType.FROST_BREATH) {
+            slowPercent[target] = Math.max(slowPercent[target], encounter.abilityParameter[a]);
+            slowRounds[target] = SLOW_ROUNDS;
+        } else if (type == AbilityType.SHADOW_STRIKE) {
+            blindTurns[target] = Math.max(blindTurns[target], encounter.abilityParameter[a]);
+        }
+        return dealt;
+    }
+
+    private int hit(int target, int baseDamage, int mitigation) {
+        int rolled = baseDamage * (90 + nextInt(21)) / 100;
+        int dealt = Math.min(Math.max(rolled - mitigation, 1), health[target]);
+        health[target] -= dealt;
+        return dealt;
+    }
+
+    private int weakestEnemy() {
+        int best = -1;
+        for (int u = heroes; u < units; u++) {
+            if (health[u] > 0 && (best < 0 || health[u] < health[best])) {
+                best = u;
+            }
+        }
+        return best;
+    }
+
+    private int randomLivingHero(int alive) {
+        int skip = nextInt(alive);
+        for (int u = 0; u < heroes; u++) {
+            if (health[u] > 0 && skip-- == 0) {
+                return u;
+            }
+        }
+        throw new IllegalStateException("No living hero");
+    }
+
+    // Insertion sort by descending effective speed; stable, so ties keep unit order
+    private void sortByInitiative() {
+        for (int u = 0; u < units; u++) {
+            initiative[u] = speed[u] * (100 - slowPercent[u]) / 100;
+            int k = u;
+            while (k > 0 && initiative[order[k - 1]] < initiative[u]) {
+                order[k] = order[k - 1];
+                k--;
+            }
+            order[k] = u;
+        }
+    }
+
+    private int countAlive(int from, int to) {
+        int alive = 0;
+        for (int u = from; u < to; u++) {
+            if (health[u] > 0) {
+                alive++;
+            }
+        }
+        return alive;
+    }
+
+    // SplitMix64
+    private int nextInt(int bound) {
+        long z = LootRoller.mix(rngState += LootRoller.GOLDEN_GAMMA);
+        return (int) ((z >>> 1) % bound);
+    }
+}
@@ -0,0 +1,50 @@
+package com.narxoz.rpg.simulation;
+
+// One member of the player party in a simulated encounter. Immutable.
+public final class Hero {
+
+    private final String name;
+    private final int health;
+    private final int damage;
+    private final int defense;
+    private final int speed;
+
+    public Hero(String name, int health, int damage, int defense, int speed) {
+        if (health <= 0) {
+            throw new IllegalArgumentException("Hero health must be positive: " + health);
+        }
+        if (damage < 0 || defense < 0 || speed < 0) {
+            throw new IllegalArgumentException("Hero stats must not be negative");
+        }
+        this.name = name;
+        this.health = health;
+        this.damage = damage;
+        this.defense = defense;
+        this.speed = speed;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getHealth() {
+        return health;
+    }
+
+    public int getDamage() {
+        return damage;
+    }
+
+    public int getDefense() {
+        return defense;
+    }
+
+    public int getSpeed() {
+        return speed;
+    }
+
+    @Override
+    public String toString() {
+        return name + "{hp=" + health + ", dmg=" + damage + ", def=" + defense + ", spd=" + speed + "}";
+    }
+}
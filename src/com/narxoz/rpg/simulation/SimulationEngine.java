@@ -0,0 +1,75 @@
+package com.narxoz.rpg.simulation;
+
+import com.narxoz.rpg.loot.LootRoller;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Runs many independent encounters across all cores.
+// Encounter i always uses LootRoller.seedFor(seed, i), so a run gives the same
+// report at any parallelism. The work is CPU-bound and never blocks, so it runs
+// on a dedicated fork/join pool with one worker per core; each split of the
+// range gets its own simulator and report, merged at the end.
+public final class SimulationEngine implements AutoCloseable {
+
+    private final ForkJoinPool pool;
+
+    public SimulationEngine() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public SimulationEngine(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public SimulationReport run(Encounter encounter, int count, long seed) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Encounter count must not be negative: " + count);
+        }
+        long start = System.nanoTime();
+        SimulationReport report = pool.submit(() -> IntStream.range(0, count)
+                .parallel()
+                .collect(() -> new Worker(encounter), (worker, i) -> worker.run(seed, i), Worker::merge)
+                .report).join();
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    // Single encounter on the calling thread, for replaying one seed from a run.
+    public static EncounterOutcome runOne(Encounter encounter, long seed, int index) {
+        EncounterOutcome outcome = new EncounterOutcome();
+        new EncounterSimulator(encounter).run(LootRoller.seedFor(seed, index), outcome);
+        return outcome;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private static final class Worker {
+        final EncounterSimulator simulator;
+        final EncounterOutcome outcome = new EncounterOutcome();
+        final SimulationReport report = new SimulationReport();
+
+        Worker(Encounter encounter) {
+            simulator = new EncounterSimulator(encounter);
+        }
+
+        void run(long seed, int index) {
+            simulator.run(LootRoller.seedFor(seed, index), outcome);
+            report.add(outcome);
+        }
+
+        void merge(Worker other) {
+            report.merge(other.report);
+        }
+    }
+}
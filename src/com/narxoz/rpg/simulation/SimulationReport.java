@@ -0,0 +1,114 @@
+package com.narxoz.rpg.simulation;
+
+// Totals over many simulated encounters. Also serves as the per-thread
+// accumulator while a run is in progress.
+public final class SimulationReport {
+
+    private long encounters;
+    private long heroWins;
+    private long enemyWins;
+    private long draws;
+    private long rounds;
+    private long phaseChanges;
+    private long damageToEnemies;
+    private long damageToHeroes;
+    private long elapsedNanos;
+
+    void add(EncounterOutcome outcome) {
+        encounters++;
+        switch (outcome.getWinner()) {
+            case HEROES:
+                heroWins++;
+                break;
+            case ENEMIES:
+                enemyWins++;
+                break;
+            default:
+                draws++;
+                break;
+        }
+        rounds += outcome.getRounds();
+        phaseChanges += outcome.getPhaseChanges();
+        damageToEnemies += outcome.getDamageToEnemies();
+        damageToHeroes += outcome.getDamageToHeroes();
+    }
+
+    void merge(SimulationReport other) {
+        encounters += other.encounters;
+        heroWins += other.heroWins;
+        enemyWins += other.enemyWins;
+        draws += other.draws;
+        rounds += other.rounds;
+        phaseChanges += other.phaseChanges;
+        damageToEnemies += other.damageToEnemies;
+        damageToHeroes += other.damageToHeroes;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getEncounters() {
+        return encounters;
+    }
+
+    public long getHeroWins() {
+        return heroWins;
+    }
+
+    public long getEnemyWins() {
+        return enemyWins;
+    }
+
+    public long getDraws() {
+        return draws;
+    }
+
+    public double getHeroWinRate() {
+        return encounters == 0 ? 0 : (double) heroWins / encounters;
+    }
+
+    public double getAverageRounds() {
+        return encounters == 0 ? 0 : (double) rounds / encounters;
+    }
+
+    public long getPhaseChanges() {
+        return phaseChanges;
+    }
+
+    public long getDamageToEnemies() {
+        return damageToEnemies;
+    }
+
+    public long getDamageToHeroes() {
+        return damageToHeroes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getEncountersPerSecond() {
+        return elapsedNanos == 0 ? 0 : encounters * 1e9 / elapsedNanos;
+    }
+
+    // Same encounters and seed give equal reports, whatever the thread count
+    public boolean sameResults(SimulationReport other) {
+        return encounters == other.encounters
+                && heroWins == other.heroWins
+                && enemyWins == other.enemyWins
+                && draws == other.draws
+                && rounds == other.rounds
+                && phaseChanges == other.phaseChanges
+                && damageToEnemies == other.damageToEnemies
+                && damageToHeroes == other.damageToHeroes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SimulationReport{encounters=%d, heroWins=%d, enemyWins=%d, draws=%d, "
+                        + "heroWinRate=%.3f, avgRounds=%.2f, phaseChanges=%d, encounters/s=%.0f}",
+                encounters, heroWins, enemyWins, draws, getHeroWinRate(), getAverageRounds(),
+                phaseChanges, getEncountersPerSecond());
+    }
+}
@@ -0,0 +1,557 @@
+package com.narxoz.rpg.simulation;
+
+import com.narxoz.rpg.combat.Ability;
+import com.narxoz.rpg.combat.AbilityType;
+import com.narxoz.rpg.enemy.EnemyPool;
+import com.narxoz.rpg.eventlog.CombatLog;
+import com.narxoz.rpg.eventlog.EventLog;
+import com.narxoz.rpg.metrics.LatencyHistogram;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+// Fixed-rate live combat loop over an EnemyPool and a hero party.
+// Each tick runs in phases instead of calling into every enemy:
+//   1. expire status effects that run out this tick (timing wheel);
+//   2. scan the pool once and queue every enemy whose cooldown is up, by ability type;
+//   3. resolve each queue in its own loop over primitive state: FlameBreath hits
+//      every hero, FrostBreath slows its target, ShadowStrike blinds it, and enemies
+//      without abilities make a plain attack;
+//   4. heroes attack the pool.
+// Abilities are flattened per pool ability set on first sight, so the hot loops
+// never touch Ability objects. The pool must only be changed on the tick thread.
+// Once more than half of the scanned slots are dead the scheduler compacts the
+// pool itself (see setAutoCompact), so slot numbers are not stable while it runs.
+// If someone else compacts the pool, per-enemy cooldowns restart from scratch.
+// A tick that throws is counted and reported; the fixed-rate schedule keeps going.
+public final class TickScheduler implements AutoCloseable {
+
+    // Auto-compaction waits until at least this many slots are dead
+    public static final int MIN_DEAD_TO_COMPACT = 64;
+
+    public static final int DEFAULT_TICK_RATE = 20;
+    // Cooldown of a speed-10 enemy; faster enemies act proportionally more often
+    public static final int ABILITY_COOLDOWN_TICKS = 20;
+    public static final int HERO_ATTACK_TICKS = 10;
+    public static final int SLOW_TICKS = 40;
+    // ShadowStrike blind duration is given in turns
+    public static final int TICKS_PER_TURN = 10;
+
+    private static final int SLOW = 0;
+    private static final int BLIND = 1;
+    private static final int FLAME = AbilityType.FLAME_BREATH.ordinal();
+    private static final int FROST = AbilityType.FROST_BREATH.ordinal();
+    private static final int SHADOW = AbilityType.SHADOW_STRIKE.ordinal();
+    private static final int BASIC = AbilityType.values().length;
+
+    private final EnemyPool pool;
+    private final long periodNanos;
+
+    // Hero columns
+    private final int heroes;
+    private final int[] heroHealth;
+    private final int[] heroDamage;
+    private final int[] heroDefense;
+    private final int[] heroSlow;
+    private final long[] slowUntil;
+    private final boolean[] heroBlind;
+    private final long[] blindUntil;
+    private final int[] heroCooldown;
+    private int heroCursor;
+
+    // Enemy columns, grown with the pool
+    private int[] cooldown = new int[0];
+    private int[] castCount = new int[0];
+    private int scheduled;
+    private long seenCompactions;
+    private boolean autoCompact = true;
+    private final EnemyPool.SlotMoveListener moveSlot = this::moveSlot;
+
+    // Flattened abilities per pool ability set id
+    private int[] setStart = new int[1];
+    private int compiledSets;
+    private int[] abilityType = new int[8];
+    private int[] abilityDamage = new int[8];
+    private int[] abilityParameter = new int[8];
+    private String[] abilityName = new String[8];
+
+    // Per-type cast queues: caster slot and flattened ability index
+    private final int[][] queueCaster = new int[BASIC + 1][64];
+    private final int[][] queueAbility = new int[BASIC + 1][64];
+    private final int[] queueSize = new int[BASIC + 1];
+
+    private final TimingWheel effects = new TimingWheel(256);
+    private final IntConsumer expireEffect = this::expire;
+    private final LatencyHistogram tickLatency = new LatencyHistogram();
+    private final long[] casts = new long[BASIC + 1];
+    private volatile long ticks;
+    private volatile long maxTickNanos;
+    private volatile long overruns;
+    private volatile long kills;
+    private volatile int liveEnemies;
+    private volatile long compactions;
+    private volatile long failures;
+    private volatile RuntimeException lastError;
+
+    private ScheduledExecutorService executor;
+
+    public TickScheduler(EnemyPool pool, List<Hero> party) {
+        this(pool, party, DEFAULT_TICK_RATE);
+    }
+
+    public TickScheduler(EnemyPool pool, List<Hero> party, int tickRate) {
+        if (pool == null || party == null || party.isEmpty()) {
+            throw new IllegalArgumentException("A pool and at least one hero are required");
+        }
+        if (tickRate <= 0) {
+            throw new IllegalArgumentException("Tick rate must be positive: " + tickRate);
+        }
+        this.pool = pool;
+        this.seenCompactions = pool.getCompactions();
+        this.periodNanos = TimeUnit.SECONDS.toNanos(1) / tickRate;
+        heroes = party.size();
+        heroHealth = new int[heroes];
+        heroDamage = new int[heroes];
+        heroDefense = new int[heroes];
+        heroSlow = new int[heroes];
+        slowUntil = new long[heroes];
+        heroBlind = new boolean[heroes];
+        blindUntil = new long[heroes];
+        heroCooldown = new int[heroes];
+        for (int h = 0; h < heroes; h++) {
+            Hero hero = party.get(h);
+            heroHealth[h] = hero.getHealth();
+            heroDamage[h] = hero.getDamage();
+            heroDefense[h] = hero.getDefense();
+            heroCooldown[h] = 1 + h % HERO_ATTACK_TICKS;
+        }
+    }
+
+    // -------------------------
+    // RUNNING
+    // -------------------------
+    // Starts ticking at the fixed rate on a dedicated daemon thread.
+    public synchronized void start() {
+        if (executor != null) {
+            throw new IllegalStateException("Scheduler already started");
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "combat-tick");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::scheduledTick, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // An exception escaping a fixed-rate task would silently cancel the schedule
+    private void scheduledTick() {
+        try {
+            tick();
+        } catch (RuntimeException e) {
+            lastError = e;
+            failures++;
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+    }
+
+    // Off: dead slots stay in the pool (and are skipped) until the owner compacts it
+    public void setAutoCompact(boolean autoCompact) {
+        this.autoCompact = autoCompact;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            executor = null;
+        }
+    }
+
+    // One tick; call directly to step manually instead of start().
+    public void tick() {
+        long start = System.nanoTime();
+        syncWithPool();
+        effects.advance(expireEffect);
+        long now = effects.getCurrentTick();
+
+        collectCasts();
+        EventLog log = CombatLog.get();
+        resolveFlame(log);
+        resolveFrost(now, log);
+        resolveShadow(now, log);
+        resolveBasic();
+        heroesAttack();
+        if (autoCompact) {
+            compactIfSparse();
+        }
+
+        long nanos = System.nanoTime() - start;
+        tickLatency.record(nanos);
+        if (nanos > maxTickNanos) {
+            maxTickNanos = nanos;
+        }
+        if (nanos > periodNanos) {
+            overruns++;
+        }
+        ticks++;
+    }
+
+    // -------------------------
+    // PHASES
+    // -------------------------
+    private void collectCasts() {
+        Arrays.fill(queueSize, 0);
+        int live = 0;
+        for (int slot = 0; slot < scheduled; slot++) {
+            if (pool.getHealth(slot) <= 0) {
+                continue;
+            }
+            live++;
+            if (--cooldown[slot] > 0) {
+                continue;
+            }
+            cooldown[slot] = cooldownFor(pool.getSpeed(slot));
+            int set = pool.getAbilitySetId(slot);
+            ensureCompiled(set);
+            int first = setStart[set];
+            int count = setStart[set + 1] - first;
+            if (count == 0) {
+                enqueue(BASIC, slot, -1);
+            } else {
+                int a = first + castCount[slot]++ % count;
+                enqueue(abilityType[a], slot, a);
+            }
+        }
+        liveEnemies = live;
+    }
+
+    // The resolvers count and log (log may be null) only the casts that land: once
+    // no hero is alive the rest of the queue is dropped. Basic attacks are not logged.
+    // Flame is AoE: the casts of one tick are summed, then every hero takes the total once
+    private void resolveFlame(EventLog log) {
+        int n = queueSize[FLAME];
+        if (n == 0 || !anyHeroAlive()) {
+            return;
+        }
+        int[] casters = queueCaster[FLAME];
+        int[] abilities = queueAbility[FLAME];
+        long total = 0;
+        for (int i = 0; i < n; i++) {
+            int a = abilities[i];
+            total += abilityDamage[a];
+            if (log != null) {
+                log.ability(abilityName[a], abilityDamage[a], casters[i]);
+            }
+        }
+        casts[FLAME] += n;
+        for (int h = 0; h < heroes; h++) {
+            if (heroHealth[h] > 0) {
+                long dealt = Math.max(total - (long) n * (heroDefense[h] / 2), n);
+                heroHealth[h] -= (int) Math.min(dealt, heroHealth[h]);
+            }
+        }
+    }
+
+    private void resolveFrost(long now, EventLog log) {
+        int n = queueSize[FROST];
+        int[] casters = queueCaster[FROST];
+        int[] abilities = queueAbility[FROST];
+        int resolved = 0;
+        for (int i = 0; i < n; i++) {
+            int target = targetFor(casters[i]);
+            if (target < 0) {
+                break;
+            }
+            int a = abilities[i];
+            if (log != null) {
+                log.ability(abilityName[a], abilityDamage[a], casters[i]);
+            }
+            resolved++;
+            damageHero(target, abilityDamage[a] - heroDefense[target] / 2);
+            heroSlow[target] = Math.max(heroSlow[target], abilityParameter[a]);
+            long until = now + SLOW_TICKS;
+            if (until > slowUntil[target]) {
+                slowUntil[target] = until;
+                effects.schedule(until, target << 1 | SLOW);
+            }
+        }
+        casts[FROST] += resolved;
+    }
+
+    private void resolveShadow(long now, EventLog log) {
+        int n = queueSize[SHADOW];
+        int[] casters = queueCaster[SHADOW];
+        int[] abilities = queueAbility[SHADOW];
+        int resolved = 0;
+        for (int i = 0; i < n; i++) {
+            int target = targetFor(casters[i]);
+            if (target < 0) {
+                break;
+            }
+            int a = abilities[i];
+            if (log != null) {
+                log.ability(abilityName[a], abilityDamage[a], casters[i]);
+            }
+            resolved++;
+            damageHero(target, abilityDamage[a] - heroDefense[target] / 2);
+            heroBlind[target] = true;
+            long until = now + (long) abilityParameter[a] * TICKS_PER_TURN;
+            if (until > blindUntil[target]) {
+                blindUntil[target] = until;
+                effects.schedule(until, target << 1 | BLIND);
+            }
+        }
+        casts[SHADOW] += resolved;
+    }
+
+    private void resolveBasic() {
+        int n = queueSize[BASIC];
+        int[] casters = queueCaster[BASIC];
+        int resolved = 0;
+        for (int i = 0; i < n; i++) {
+            int target = targetFor(casters[i]);
+            if (target < 0) {
+                break;
+            }
+            damageHero(target, pool.getDamage(casters[i]) - heroDefense[target]);
+            resolved++;
+        }
+        casts[BASIC] += resolved;
+    }
+
+    private void heroesAttack() {
+        for (int h = 0; h < heroes; h++) {
+            if (heroHealth[h] <= 0 || heroBlind[h] || --heroCooldown[h] > 0) {
+                continue;
+            }
+            heroCooldown[h] = HERO_ATTACK_TICKS * 100 / Math.max(100 - heroSlow[h], 1);
+            int target = nextLiveEnemy();
+            if (target < 0) {
+                return;
+            }
+            int dealt = Math.max(heroDamage[h] - pool.getDefense(target), 1);
+            if (pool.applyDamage(target, dealt)) {
+                kills++;
+            }
+        }
+    }
+
+    private void expire(int effect) {
+        int hero = effect >>> 1;
+        long now = effects.getCurrentTick();
+        if ((effect & 1) == SLOW) {
+            if (slowUntil[hero] <= now) {
+                heroSlow[hero] = 0;
+            }
+        } else if (blindUntil[hero] <= now) {
+            heroBlind[hero] = false;
+        }
+    }
+
+    // -------------------------
+    // INTERNALS
+    // -------------------------
+    // Picks up enemies added to the pool since the last tick, staggering their
+    // first casts so a freshly spawned wave does not act all on one tick.
+    private void syncWithPool() {
+        int size = pool.size();
+        if (pool.getCompactions() != seenCompactions || size < scheduled) {
+            // Compacted or shrunk behind our back: old slot numbers mean nothing now
+            seenCompactions = pool.getCompactions();
+            scheduled = 0;
+            heroCursor = 0;
+        }
+        if (size <= scheduled) {
+            return;
+        }
+        if (size > cooldown.length) {
+            int capacity = Math.max(size, cooldown.length * 2);
+            cooldown = Arrays.copyOf(cooldown, capacity);
+            castCount = Arrays.copyOf(castCount, capacity);
+        }
+        for (int slot = scheduled; slot < size; slot++) {
+            cooldown[slot] = 1 + slot % cooldownFor(pool.getSpeed(slot));
+            castCount[slot] = 0;
+        }
+        scheduled = size;
+    }
+
+    private void compactIfSparse() {
+        int dead = scheduled - liveEnemies;
+        if (dead < MIN_DEAD_TO_COMPACT || dead * 2 <= scheduled) {
+            return;
+        }
+        pool.compact(moveSlot);
+        seenCompactions = pool.getCompactions();
+        scheduled = Math.min(scheduled, pool.size());
+        if (heroCursor >= scheduled) {
+            heroCursor = 0;
+        }
+        compactions++;
+    }
+
+    private void moveSlot(int from, int to) {
+        if (from < scheduled) {
+            cooldown[to] = cooldown[from];
+            castCount[to] = castCount[from];
+        }
+    }
+
+    private void ensureCompiled(int setId) {
+        while (compiledSets <= setId) {
+            List<Ability> set = pool.abilitySet(compiledSets);
+            int start = setStart[compiledSets];
+            int end = start + set.size();
+            if (end > abilityType.length) {
+                int capacity = Math.max(end, abilityType.length * 2);
+                abilityType = Arrays.copyOf(abilityType, capacity);
+                abilityDamage = Arrays.copyOf(abilityDamage, capacity);
+                abilityParameter = Arrays.copyOf(abilityParameter, capacity);
+                abilityName = Arrays.copyOf(abilityName, capacity);
+            }
+            for (int i = 0; i < set.size(); i++) {
+                Ability ability = set.get(i);
+                abilityType[start + i] = AbilityType.of(ability).ordinal();
+                abilityDamage[start + i] = ability.getDamage();
+                abilityParameter[start + i] = AbilityType.parameter(ability);
+                abilityName[start + i] = ability.getName();
+            }
+            compiledSets++;
+            if (compiledSets + 1 > setStart.length) {
+                setStart = Arrays.copyOf(setStart, setStart.length * 2);
+            }
+            setStart[compiledSets] = end;
+        }
+    }
+
+    private void enqueue(int type, int caster, int ability) {
+        int size = queueSize[type];
+        if (size == queueCaster[type].length) {
+            queueCaster[type] = Arrays.copyOf(queueCaster[type], size * 2);
+            queueAbility[type] = Arrays.copyOf(queueAbility[type], size * 2);
+        }
+        queueCaster[type][size] = caster;
+        queueAbility[type][size] = ability;
+        queueSize[type] = size + 1;
+    }
+
+    // Each enemy has a fixed lane hero and falls through to the next living one
+    private int targetFor(int caster) {
+        int start = caster % heroes;
+        for (int i = 0; i < heroes; i++) {
+            int h = start + i < heroes ? start + i : start + i - heroes;
+            if (heroHealth[h] > 0) {
+                return h;
+            }
+        }
+        return -1;
+    }
+
+    private boolean anyHeroAlive() {
+        for (int h = 0; h < heroes; h++) {
+            if (heroHealth[h] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void damageHero(int hero, int amount) {
+        heroHealth[hero] -= Math.min(Math.max(amount, 1), heroHealth[hero]);
+    }
+
+    private int nextLiveEnemy() {
+        for (int i = 0; i < scheduled; i++) {
+            int slot = heroCursor;
+            heroCursor = heroCursor + 1 < scheduled ? heroCursor + 1 : 0;
+            if (pool.getHealth(slot) > 0) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private static int cooldownFor(int speed) {
+        return Math.max(ABILITY_COOLDOWN_TICKS * 10 / Math.max(speed, 1), 1);
+    }
+
+    // -------------------------
+    // STATS
+    // -------------------------
+    public long getTicks() {
+        return ticks;
+    }
+
+    public long getTickPeriodNanos() {
+        return periodNanos;
+    }
+
+    public LatencyHistogram getTickLatency() {
+        return tickLatency;
+    }
+
+    public long getMaxTickNanos() {
+        return maxTickNanos;
+    }
+
+    // Ticks that took longer than the tick period
+    public long getOverruns() {
+        return overruns;
+    }
+
+    public long getKills() {
+        return kills;
+    }
+
+    public int getLiveEnemies() {
+        return liveEnemies;
+    }
+
+    // Pool compactions done by this scheduler
+    public long getCompactions() {
+        return compactions;
+    }
+
+    // Scheduled ticks that threw; the schedule keeps running after them
+    public long getFailures() {
+        return failures;
+    }
+
+    public RuntimeException getLastError() {
+        return lastError;
+    }
+
+    public long getCasts(AbilityType type) {
+        return casts[type.ordinal()];
+    }
+
+    public long getBasicAttacks() {
+        return casts[BASIC];
+    }
+
+    public int getActiveEffects() {
+        return effects.pending();
+    }
+
+    public int getHeroHealth(int hero) {
+        return heroHealth[hero];
+    }
+
+    public int getHeroSlow(int hero) {
+        return heroSlow[hero];
+    }
+
+    public boolean isHeroBlind(int hero) {
+        return heroBlind[hero];
+    }
+}
@@ -0,0 +1,77 @@
+package com.narxoz.rpg.simulation;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// Hashed timing wheel of int payloads keyed by due tick.
+// schedule() and advance() are O(1) per entry; an entry due further out than
+// the wheel span stays in its slot until its tick comes around. Each slot is a
+// pair of growable primitive arrays, so steady-state use allocates nothing.
+// Not thread-safe: owned by the tick thread.
+public final class TimingWheel {
+
+    private final int mask;
+    private final long[][] dueTicks;
+    private final int[][] payloads;
+    private final int[] sizes;
+    private long currentTick;
+    private int pending;
+
+    // slots is rounded up to a power of two
+    public TimingWheel(int slots) {
+        if (slots <= 0) {
+            throw new IllegalArgumentException("Slot count must be positive: " + slots);
+        }
+        int size = slots == 1 ? 1 : Integer.highestOneBit(slots - 1) << 1;
+        mask = size - 1;
+        dueTicks = new long[size][8];
+        payloads = new int[size][8];
+        sizes = new int[size];
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public int pending() {
+        return pending;
+    }
+
+    // Entries due at or before the current tick fire on the next advance()
+    public void schedule(long dueTick, int payload) {
+        long due = Math.max(dueTick, currentTick + 1);
+        int slot = (int) (due & mask);
+        int size = sizes[slot];
+        if (size == payloads[slot].length) {
+            dueTicks[slot] = Arrays.copyOf(dueTicks[slot], size * 2);
+            payloads[slot] = Arrays.copyOf(payloads[slot], size * 2);
+        }
+        dueTicks[slot][size] = due;
+        payloads[slot][size] = payload;
+        sizes[slot] = size + 1;
+        pending++;
+    }
+
+    // Moves to the next tick and hands every entry due on it to expired, which
+    // must not schedule new entries. Returns the number of expired entries.
+    public int advance(IntConsumer expired) {
+        long tick = ++currentTick;
+        int slot = (int) (tick & mask);
+        long[] due = dueTicks[slot];
+        int[] payload = payloads[slot];
+        int size = sizes[slot];
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (due[i] <= tick) {
+                expired.accept(payload[i]);
+            } else {
+                due[kept] = due[i];
+                payload[kept] = payload[i];
+                kept++;
+            }
+        }
+        sizes[slot] = kept;
+        pending -= size - kept;
+        return size - kept;
+    }
+}
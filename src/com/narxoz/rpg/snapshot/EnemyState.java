@@ -0,0 +1,62 @@
+package com.narxoz.rpg.snapshot;
+
+import com.narxoz.rpg.combat.Ability;
+import com.narxoz.rpg.enemy.AIBehavior;
+import com.narxoz.rpg.enemy.Element;
+import com.narxoz.rpg.enemy.Enemy;
+import com.narxoz.rpg.loot.LootTable;
+
+import java.util.List;
+
+// Immutable copy of one enemy as published by StatePublisher. id is stable for
+// as long as the enemy stays in the published world; version is the world
+// version in which these values last changed. An enemy that did not change
+// between two ticks keeps the very same EnemyState instance, so a reader can
+// diff two worlds with ==.
+public record EnemyState(int id, long version, String name,
+                         int health, int damage, int defense, int speed,
+                         Element element, AIBehavior aiBehavior,
+                         List<Ability> abilities, LootTable lootTable, String templateKey) {
+
+    public EnemyState {
+        abilities = List.copyOf(abilities);
+    }
+
+    static EnemyState of(Enemy enemy, int id, long version) {
+        return new EnemyState(id, version, enemy.getName(),
+                enemy.getHealth(), enemy.getDamage(), enemy.getDefense(), enemy.getSpeed(),
+                enemy.getElementType(), enemy.getAiBehaviorType(),
+                enemy.getAbilities(), enemy.getLootTable(), enemy.getTemplateKey());
+    }
+
+    public boolean isAlive() {
+        return health > 0;
+    }
+
+    // True if the enemy still has exactly these values. Abilities and loot tables
+    // are immutable flyweights, so they are compared by identity.
+    boolean matches(Enemy enemy) {
+        if (health != enemy.getHealth()
+                || damage != enemy.getDamage()
+                || defense != enemy.getDefense()
+                || speed != enemy.getSpeed()
+                || element != enemy.getElementType()
+                || aiBehavior != enemy.getAiBehaviorType()
+                || lootTable != enemy.getLootTable()
+                || abilities.size() != enemy.abilityCount()
+                || !sameString(name, enemy.getName())
+                || !sameString(templateKey, enemy.getTemplateKey())) {
+            return false;
+        }
+        for (int i = 0; i < abilities.size(); i++) {
+            if (abilities.get(i) != enemy.abilityAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameString(String a, String b) {
+        return a == b || (a != null && a.equals(b));
+    }
+}
@@ -0,0 +1,20 @@
+package com.narxoz.rpg.snapshot;
+
+import java.util.List;
+
+// What changed between two published world versions. full means the reader
+// was too far behind: changed then holds every enemy and the reader should
+// replace its whole state. removed may name enemies that appeared and left
+// within the range; a reader that never saw them can ignore those ids.
+public record StateDelta(long fromVersion, long toVersion, boolean full,
+                         List<EnemyState> changed, List<Integer> removed) {
+
+    public StateDelta {
+        changed = List.copyOf(changed);
+        removed = List.copyOf(removed);
+    }
+
+    public boolean isEmpty() {
+        return !full && changed.isEmpty() && removed.isEmpty();
+    }
+}
@@ -0,0 +1,157 @@
+package com.narxoz.rpg.snapshot;
+
+import com.narxoz.rpg.enemy.Enemy;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+// Publishes an immutable WorldState of a live enemy list once per tick.
+// publish() must only be called by the thread that mutates the enemies (the
+// simulation thread); current() may be called from any thread at any time.
+// Unchanged enemies keep their previous EnemyState instance, so a tick costs one
+// map lookup and a field comparison per enemy plus one allocation per changed enemy.
+public final class StatePublisher {
+
+    public static final int DEFAULT_HISTORY = 256;
+
+    // Last published state of an enemy, the version it was last seen in and the
+    // enemy's incarnation at the time
+    private static final class Slot {
+        EnemyState state;
+        long seen;
+        int incarnation;
+        // Number of the publish call that last checked this slot for duplicates
+        long checked;
+
+        Slot(EnemyState state, long seen, int incarnation) {
+            this.state = state;
+            this.seen = seen;
+            this.incarnation = incarnation;
+        }
+    }
+
+    private final int history;
+    private final ArrayDeque<WorldState.Removals> recent = new ArrayDeque<>();
+    private final Map<Enemy, Slot> published = new IdentityHashMap<>();
+    private int nextId = 1;
+    // Ids of recycled enemies retired during the current publish
+    private int[] retired = new int[16];
+    // Scratch for the duplicate check, reused across calls: each enemy's slot
+    // (null if new), the new enemies, and a number no other publish call uses
+    private Slot[] slots = new Slot[16];
+    private final Map<Enemy, Boolean> fresh = new IdentityHashMap<>();
+    private long calls;
+    private volatile WorldState current = WorldState.EMPTY;
+
+    public StatePublisher() {
+        this(DEFAULT_HISTORY);
+    }
+
+    // history: how many versions back changedSince() can still give a delta
+    public StatePublisher(int history) {
+        if (history < 1) {
+            throw new IllegalArgumentException("History must be at least one version: " + history);
+        }
+        this.history = history;
+    }
+
+    public WorldState current() {
+        return current;
+    }
+
+    // An enemy keeps its id while it is published in consecutive ticks; one that
+    // leaves and comes back (e.g. through EnemyRecycler) gets a new id. So does a
+    // recycled enemy that was released and acquired again between two ticks: its
+    // old id is reported as removed.
+    // A list that holds an enemy twice is rejected before anything changes.
+    public WorldState publish(List<? extends Enemy> enemies) {
+        int count = enemies.size();
+        if (slots.length < count) {
+            slots = new Slot[Math.max(count, slots.length * 2)];
+        }
+        try {
+            checkDuplicates(enemies, count);
+            return publish(enemies, count);
+        } finally {
+            Arrays.fill(slots, 0, count, null);
+            fresh.clear();
+        }
+    }
+
+    // Only touches the scratch state: slot.checked holds this call's number,
+    // which is never reused, so a rejected call leaves nothing behind.
+    private void checkDuplicates(List<? extends Enemy> enemies, int count) {
+        long call = ++calls;
+        for (int i = 0; i < count; i++) {
+            Enemy enemy = enemies.get(i);
+            Slot slot = published.get(enemy);
+            boolean duplicate = slot == null
+                    ? fresh.put(enemy, Boolean.TRUE) != null
+                    : slot.checked == call;
+            if (duplicate) {
+                throw new IllegalArgumentException("Enemy published twice in one tick: " + enemy.getName());
+            }
+            if (slot != null) {
+                slot.checked = call;
+            }
+            slots[i] = slot;
+        }
+    }
+
+    private WorldState publish(List<? extends Enemy> enemies, int count) {
+        WorldState previous = current;
+        long version = previous.getVersion() + 1;
+        EnemyState[] states = new EnemyState[count];
+        int retiredCount = 0;
+        for (int i = 0; i < count; i++) {
+            Enemy enemy = enemies.get(i);
+            Slot slot = slots[i];
+            if (slot == null) {
+                slot = new Slot(EnemyState.of(enemy, nextId++, version), version, enemy.getIncarnation());
+                published.put(enemy, slot);
+            } else if (slot.incarnation != enemy.getIncarnation()) {
+                if (retiredCount == retired.length) {
+                    retired = Arrays.copyOf(retired, retiredCount * 2);
+                }
+                retired[retiredCount++] = slot.state.id();
+                slot.state = EnemyState.of(enemy, nextId++, version);
+                slot.seen = version;
+                slot.incarnation = enemy.getIncarnation();
+            } else {
+                slot.seen = version;
+                if (!slot.state.matches(enemy)) {
+                    slot.state = EnemyState.of(enemy, slot.state.id(), version);
+                }
+            }
+            states[i] = slot.state;
+        }
+
+        // Slots not seen this tick belong to enemies that left the world
+        int[] removed = new int[retiredCount + published.size() - states.length];
+        if (removed.length > 0) {
+            System.arraycopy(retired, 0, removed, 0, retiredCount);
+            int r = retiredCount;
+            for (Iterator<Slot> it = published.values().iterator(); it.hasNext(); ) {
+                Slot slot = it.next();
+                if (slot.seen != version) {
+                    removed[r++] = slot.state.id();
+                    it.remove();
+                }
+            }
+        }
+
+        WorldState.Removals removals = new WorldState.Removals(version, removed, previous.removals());
+        recent.addLast(removals);
+        if (recent.size() > history) {
+            recent.removeFirst();
+            recent.peekFirst().previous = null;
+        }
+        WorldState world = new WorldState(version, states, removals);
+        current = world;
+        return world;
+    }
+}
@@ -0,0 +1,98 @@
+package com.narxoz.rpg.snapshot;
+
+import com.narxoz.rpg.enemy.Enemy;
+import com.narxoz.rpg.enemy.EnemyCodec;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+// One committed segment of a WorldSnapshotStore, read straight from the mapping.
+// Nothing is decoded up front: restore(i) pages in and decodes just enemy i,
+// so a restarted server can bring enemies back as players reach them. A segment
+// loaded from disk is checksummed on its first restore, not when the store opens.
+// Thread-safe; every restore returns a new Enemy owned by the caller.
+public final class WorldSnapshot {
+
+    private final ByteBuffer segment;
+    private final long sequence;
+    private final long timestamp;
+    private final int size;
+    private final int indexOffset;
+    private volatile List<Enemy> templates;
+    private volatile boolean verified;
+
+    // verified: the segment is known to be intact, e.g. because this process wrote it
+    WorldSnapshot(ByteBuffer segment, boolean verified) {
+        this.segment = segment;
+        this.verified = verified;
+        this.sequence = segment.getLong(WorldSnapshotStore.SEQUENCE_OFFSET);
+        this.timestamp = segment.getLong(WorldSnapshotStore.TIMESTAMP_OFFSET);
+        this.size = segment.getInt(WorldSnapshotStore.COUNT_OFFSET);
+        this.indexOffset = WorldSnapshotStore.SEGMENT_HEADER_SIZE
+                + segment.getInt(WorldSnapshotStore.TEMPLATES_LENGTH_OFFSET)
+                + segment.getInt(WorldSnapshotStore.RECORDS_LENGTH_OFFSET);
+    }
+
+    // 1 for the first snapshot in the store, then increasing by one
+    public long getSequence() {
+        return sequence;
+    }
+
+    // Wall-clock millis when the snapshot was taken
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Enemy restore(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Enemy " + index + " out of range [0, " + size + ")");
+        }
+        if (!verify()) {
+            throw new IllegalStateException("Snapshot " + sequence + " is corrupt (checksum mismatch)");
+        }
+        int offset = segment.getInt(indexOffset + index * 4);
+        ByteBuffer record = segment.duplicate().position(offset);
+        int template = Short.toUnsignedInt(record.getShort());
+        return EnemyCodec.decodeInstance(template == 0 ? null : templates().get(template - 1), record);
+    }
+
+    public List<Enemy> restoreAll() {
+        List<Enemy> enemies = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            enemies.add(restore(i));
+        }
+        return enemies;
+    }
+
+    int length() {
+        return segment.capacity();
+    }
+
+    // Checks trailer and checksum once; later calls are a volatile read
+    boolean verify() {
+        if (!verified && WorldSnapshotStore.isCommitted(segment)) {
+            verified = true;
+        }
+        return verified;
+    }
+
+    // Decoded once, on the first restore
+    private List<Enemy> templates() {
+        List<Enemy> decoded = templates;
+        if (decoded == null) {
+            synchronized (this) {
+                decoded = templates;
+                if (decoded == null) {
+                    decoded = EnemyCodec.decode(segment.duplicate().position(WorldSnapshotStore.SEGMENT_HEADER_SIZE));
+                    templates = decoded;
+                }
+            }
+        }
+        return decoded;
+    }
+}
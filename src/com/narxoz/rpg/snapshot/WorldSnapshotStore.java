@@ -0,0 +1,268 @@
+package com.narxoz.rpg.snapshot;
+
+import com.narxoz.rpg.enemy.Enemy;
+import com.narxoz.rpg.enemy.EnemyCodec;
+import com.narxoz.rpg.prototype.EnemyRegistry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+// Append-only file of world snapshots (big-endian):
+//
+//   file header  MAGIC, VERSION, 8 reserved bytes
+//   segment      one per append():
+//     header     SEGMENT_MAGIC, segmentLength, sequence, timestamp, enemyCount,
+//                templatesLength, recordsLength, crc32 of everything after the header
+//     templates  EnemyCodec batch of the templates the enemies were spawned from
+//     records    per enemy: u16 template index + 1 (0 = none), EnemyCodec instance record
+//     index      enemyCount x int, record offset from the segment start
+//     trailer    COMMIT_MAGIC
+//
+// A record only holds the fields an enemy overrides on its template, so a
+// snapshot of a spawned wave is a few bytes per enemy. Each segment is memory-
+// mapped on its own and enemies are decoded one at a time on access, so opening
+// the store after a crash reads only segment headers. Appends are forced to disk
+// one after another, so only the last segment can be torn: open verifies that one
+// (trailer and checksum) and cuts it off if it is incomplete. Every other segment
+// is verified on its first restore.
+public final class WorldSnapshotStore implements AutoCloseable {
+
+    static final int MAGIC = 0x52504757; // "RPGW"
+    static final int VERSION = 1;
+    static final int FILE_HEADER_SIZE = 16;
+
+    static final int SEGMENT_MAGIC = 0x534E4150; // "SNAP"
+    static final int COMMIT_MAGIC = 0x444F4E45; // "DONE"
+    static final int SEGMENT_HEADER_SIZE = 44;
+    static final int LENGTH_OFFSET = 4;
+    static final int SEQUENCE_OFFSET = 8;
+    static final int TIMESTAMP_OFFSET = 16;
+    static final int COUNT_OFFSET = 24;
+    static final int TEMPLATES_LENGTH_OFFSET = 28;
+    static final int RECORDS_LENGTH_OFFSET = 32;
+    static final int CRC_OFFSET = 36;
+
+    static final int MAX_TEMPLATES = 0xFFFE;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final List<WorldSnapshot> snapshots = new ArrayList<>();
+    private long end;
+
+    private WorldSnapshotStore(Path file, FileChannel channel) {
+        this.file = file;
+        this.channel = channel;
+    }
+
+    public static WorldSnapshotStore open(Path file) {
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            WorldSnapshotStore store = new WorldSnapshotStore(file, channel);
+            try {
+                store.load();
+            } catch (RuntimeException | IOException e) {
+                channel.close();
+                throw e;
+            }
+            return store;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open snapshot store " + file, e);
+        }
+    }
+
+    private void load() throws IOException {
+        if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+            channel.write(header.clear(), 0);
+            channel.force(true);
+        }
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        channel.read(header, 0);
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not a snapshot store: " + file);
+        }
+        long size = channel.size();
+        long position = FILE_HEADER_SIZE;
+        ByteBuffer segmentHeader = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+        while (position + SEGMENT_HEADER_SIZE <= size) {
+            channel.read(segmentHeader.clear(), position);
+            int length = segmentHeader.getInt(LENGTH_OFFSET);
+            if (segmentHeader.getInt(0) != SEGMENT_MAGIC || length < SEGMENT_HEADER_SIZE + 4
+                    || position + length > size) {
+                break;
+            }
+            ByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            snapshots.add(new WorldSnapshot(segment, false));
+            position += length;
+        }
+        if (!snapshots.isEmpty()) {
+            WorldSnapshot last = snapshots.get(snapshots.size() - 1);
+            if (!last.verify()) {
+                snapshots.remove(snapshots.size() - 1);
+                position -= last.length();
+            }
+        }
+        if (position < size) {
+            channel.truncate(position); // torn append from a crash
+        }
+        end = position;
+    }
+
+    // Trailer and checksum; reads the whole segment
+    static boolean isCommitted(ByteBuffer segment) {
+        int length = segment.capacity();
+        if (segment.getInt(length - 4) != COMMIT_MAGIC) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(segment.slice(SEGMENT_HEADER_SIZE, length - SEGMENT_HEADER_SIZE));
+        return (int) crc.getValue() == segment.getInt(CRC_OFFSET);
+    }
+
+    // -------------------------
+    // WRITE
+    // -------------------------
+    // Records each enemy against its registry template; enemies whose template is
+    // gone or was replaced since they spawned are stored in full.
+    public WorldSnapshot append(List<? extends Enemy> enemies, EnemyRegistry registry) {
+        return append(enemies, registry::findTemplate);
+    }
+
+    // templates maps a template key to that template, or null if unknown. The
+    // templates are only read, so shared instances are fine.
+    // The segment is forced to disk before it becomes visible.
+    public synchronized WorldSnapshot append(List<? extends Enemy> enemies,
+                                             Function<String, ? extends Enemy> templates) {
+        try {
+            ByteBuffer segment = encodeSegment(enemies, templates);
+            long position = end;
+            while (segment.hasRemaining()) {
+                channel.write(segment, position + segment.position());
+            }
+            channel.force(false);
+            WorldSnapshot snapshot = new WorldSnapshot(
+                    channel.map(FileChannel.MapMode.READ_ONLY, position, segment.capacity()), true);
+            end = position + segment.capacity();
+            snapshots.add(snapshot);
+            return snapshot;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to snapshot store " + file, e);
+        }
+    }
+
+    private ByteBuffer encodeSegment(List<? extends Enemy> enemies,
+                                     Function<String, ? extends Enemy> templates) throws IOException {
+        Map<String, Integer> templateIndex = new HashMap<>();
+        List<Enemy> bases = new ArrayList<>();
+        int count = enemies.size();
+        int[] baseOf = new int[count];
+        for (int i = 0; i < count; i++) {
+            Enemy enemy = enemies.get(i);
+            String key = enemy.getTemplateKey();
+            if (key == null) {
+                baseOf[i] = -1;
+                continue;
+            }
+            Integer index = templateIndex.get(key);
+            if (index == null) {
+                Enemy template = templates.apply(key);
+                index = template == null ? -1 : bases.size();
+                if (template != null) {
+                    if (bases.size() == MAX_TEMPLATES) {
+                        throw new IllegalArgumentException("More than " + MAX_TEMPLATES + " templates in one snapshot");
+                    }
+                    bases.add(template);
+                }
+                templateIndex.put(key, index);
+            }
+            Enemy base = index < 0 ? null : bases.get(index);
+            boolean matches = base != null
+                    && base.getClass() == enemy.getClass()
+                    && base.getGeneration() == enemy.getGeneration();
+            baseOf[i] = matches ? index : -1;
+        }
+
+        ByteBuffer templateBatch = EnemyCodec.encode(bases);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(count * 8 + 64);
+        DataOutputStream records = new DataOutputStream(bytes);
+        int[] offsets = new int[count];
+        int recordsStart = SEGMENT_HEADER_SIZE + templateBatch.remaining();
+        for (int i = 0; i < count; i++) {
+            offsets[i] = recordsStart + records.size();
+            records.writeShort(baseOf[i] + 1);
+            EnemyCodec.encodeInstance(enemies.get(i), baseOf[i] < 0 ? null : bases.get(baseOf[i]), records);
+        }
+        records.flush();
+
+        int length = recordsStart + bytes.size() + count * 4 + 4;
+        ByteBuffer segment = ByteBuffer.allocate(length);
+        segment.position(SEGMENT_HEADER_SIZE);
+        segment.put(templateBatch);
+        segment.put(bytes.toByteArray());
+        for (int offset : offsets) {
+            segment.putInt(offset);
+        }
+        segment.putInt(COMMIT_MAGIC);
+
+        CRC32 crc = new CRC32();
+        crc.update(segment.slice(SEGMENT_HEADER_SIZE, length - SEGMENT_HEADER_SIZE));
+        long sequence = snapshots.isEmpty() ? 1 : snapshots.get(snapshots.size() - 1).getSequence() + 1;
+        segment.putInt(0, SEGMENT_MAGIC)
+                .putInt(LENGTH_OFFSET, length)
+                .putLong(SEQUENCE_OFFSET, sequence)
+                .putLong(TIMESTAMP_OFFSET, System.currentTimeMillis())
+                .putInt(COUNT_OFFSET, count)
+                .putInt(TEMPLATES_LENGTH_OFFSET, templateBatch.capacity())
+                .putInt(RECORDS_LENGTH_OFFSET, bytes.size())
+                .putInt(CRC_OFFSET, (int) crc.getValue());
+        return segment.clear();
+    }
+
+    // -------------------------
+    // READ
+    // -------------------------
+    public synchronized int size() {
+        return snapshots.size();
+    }
+
+    public synchronized WorldSnapshot get(int index) {
+        return snapshots.get(index);
+    }
+
+    // Most recent committed snapshot, or null if the store is empty
+    public synchronized WorldSnapshot latest() {
+        return snapshots.isEmpty() ? null : snapshots.get(snapshots.size() - 1);
+    }
+
+    public synchronized List<WorldSnapshot> snapshots() {
+        return Collections.unmodifiableList(new ArrayList<>(snapshots));
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    // Mapped snapshots stay readable after close
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close snapshot store " + file, e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.narxoz.rpg.snapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// One published tick: the state of every enemy in the world, never modified
+// after publication. Readers get it from StatePublisher.current() with a single
+// volatile read and need no locks.
+public final class WorldState {
+
+    // Ids removed in one version, linked to the version before it so changedSince()
+    // can collect them. StatePublisher cuts the chain after its history limit;
+    // only the small removal lists are kept, never old enemy arrays.
+    static final class Removals {
+        final long version;
+        final int[] ids;
+        volatile Removals previous;
+
+        Removals(long version, int[] ids, Removals previous) {
+            this.version = version;
+            this.ids = ids;
+            this.previous = previous;
+        }
+    }
+
+    static final WorldState EMPTY = new WorldState(0, new EnemyState[0], new Removals(0, new int[0], null));
+
+    private final long version;
+    private final EnemyState[] enemies;
+    private final List<EnemyState> enemyView;
+    private final Removals removals;
+
+    WorldState(long version, EnemyState[] enemies, Removals removals) {
+        this.version = version;
+        this.enemies = enemies;
+        this.enemyView = Collections.unmodifiableList(Arrays.asList(enemies));
+        this.removals = removals;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return enemies.length;
+    }
+
+    // In publish order
+    public List<EnemyState> enemies() {
+        return enemyView;
+    }
+
+    public EnemyState get(int index) {
+        return enemies[index];
+    }
+
+    // Enemies changed or added after the given version, and ids removed since then.
+    // O(enemies) for the changes plus the removals of the versions in between.
+    // A negative version, or one older than the publisher's history, gives a full delta.
+    public StateDelta changedSince(long sinceVersion) {
+        if (sinceVersion >= version) {
+            return new StateDelta(sinceVersion, version, false, List.of(), List.of());
+        }
+        if (sinceVersion < 0) {
+            return new StateDelta(sinceVersion, version, true, enemyView, List.of());
+        }
+        List<Integer> removedIds = new ArrayList<>();
+        Removals node = removals;
+        while (true) {
+            for (int id : node.ids) {
+                removedIds.add(id);
+            }
+            if (node.version == sinceVersion + 1) {
+                break;
+            }
+            node = node.previous;
+            if (node == null) {
+                return new StateDelta(sinceVersion, version, true, enemyView, List.of());
+            }
+        }
+        List<EnemyState> changed = new ArrayList<>();
+        for (EnemyState enemy : enemies) {
+            if (enemy.version() > sinceVersion) {
+                changed.add(enemy);
+            }
+        }
+        return new StateDelta(sinceVersion, version, false, changed, removedIds);
+    }
+
+    Removals removals() {
+        return removals;
+    }
+}
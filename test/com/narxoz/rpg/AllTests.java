@@ -0,0 +1,20 @@
+package com.narxoz.rpg;
+
+import com.narxoz.rpg.enemy.EnemyAccessorsTest;
+import com.narxoz.rpg.enemy.EnemyCodecTest;
+import com.narxoz.rpg.loot.LootAggregatorTest;
+import com.narxoz.rpg.prototype.EnemyRegistryTest;
+import com.narxoz.rpg.snapshot.StatePublisherTest;
+
+// Runs every check under test/; exits non-zero on the first failure.
+public class AllTests {
+
+    public static void main(String[] args) {
+        EnemyRegistryTest.main(args);
+        EnemyAccessorsTest.main(args);
+        EnemyCodecTest.main(args);
+        StatePublisherTest.main(args);
+        LootAggregatorTest.main(args);
+        System.out.println("all tests passed");
+    }
+}
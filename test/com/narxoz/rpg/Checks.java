@@ -0,0 +1,47 @@
+package com.narxoz.rpg;
+
+import java.util.Objects;
+
+// Tiny assertion helpers for the plain-Java checks under test/.
+// A failed check throws AssertionError, so a failing test class exits non-zero.
+public final class Checks {
+
+    private Checks() {
+    }
+
+    public static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    public static void equal(Object expected, Object actual, String what) {
+        if (!Objects.equals(expected, actual)) {
+            throw new AssertionError(what + ": expected " + expected + " but was " + actual);
+        }
+    }
+
+    public static void same(Object expected, Object actual, String what) {
+        if (expected != actual) {
+            throw new AssertionError(what + ": expected the same instance " + expected + " but was " + actual);
+        }
+    }
+
+    public static <T extends Throwable> T fails(Class<T> type, Runnable action, String what) {
+        try {
+            action.run();
+        } catch (Throwable t) {
+            if (type.isInstance(t)) {
+                return type.cast(t);
+            }
+            throw new AssertionError(what + ": expected " + type.getSimpleName() + " but got " + t, t);
+        }
+        throw new AssertionError(what + ": expected " + type.getSimpleName() + " but nothing was thrown");
+    }
+
+    // Runs one named check and prints its result
+    public static void run(String name, Runnable test) {
+        test.run();
+        System.out.println("ok   " + name);
+    }
+}
@@ -0,0 +1,100 @@
+package com.narxoz.rpg.enemy;
+
+import com.narxoz.rpg.combat.Abilities;
+import com.narxoz.rpg.combat.Ability;
+import com.narxoz.rpg.factory.FireComponentFactory;
+import com.narxoz.rpg.loot.DropTable;
+import com.narxoz.rpg.loot.LootTable;
+import com.narxoz.rpg.loot.LootTables;
+import com.narxoz.rpg.loot.Rarity;
+import com.narxoz.rpg.loot.WeightedLootTable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.narxoz.rpg.Checks.equal;
+import static com.narxoz.rpg.Checks.fails;
+import static com.narxoz.rpg.Checks.run;
+import static com.narxoz.rpg.Checks.same;
+
+// Read accessors hand out shared, read-only views: callers cannot change a
+// prototype, its clones or the shared flyweights through them.
+public class EnemyAccessorsTest {
+
+    public static void main(String[] args) {
+        run("getAbilities is read-only and not copied per call", EnemyAccessorsTest::abilitiesView);
+        run("clones share abilities until one side changes them", EnemyAccessorsTest::copyOnWriteAbilities);
+        run("loot items are read-only and shared", EnemyAccessorsTest::lootItems);
+        run("ability flyweights are canonical", EnemyAccessorsTest::abilityFlyweights);
+    }
+
+    static Enemy fireGoblin() {
+        FireComponentFactory factory = new FireComponentFactory();
+        return new BasicEnemyBuilder()
+                .setName("Fire Goblin")
+                .setHealth(100)
+                .setDamage(15)
+                .setAbilities(factory.createAbilities())
+                .setLootTable(factory.createLootTable())
+                .build();
+    }
+
+    private static void abilitiesView() {
+        Enemy goblin = fireGoblin();
+        List<Ability> abilities = goblin.getAbilities();
+
+        same(abilities, goblin.getAbilities(), "abilities view");
+        fails(UnsupportedOperationException.class, () -> abilities.add(Abilities.frostBreath()), "add through the view");
+        fails(UnsupportedOperationException.class, () -> abilities.clear(), "clear through the view");
+        equal(1, goblin.abilityCount(), "ability count");
+        same(Abilities.flameBreath(), goblin.abilityAt(0), "first ability");
+
+        List<Ability> seen = new ArrayList<>();
+        goblin.forEachAbility(seen::add);
+        equal(abilities, seen, "forEachAbility");
+    }
+
+    private static void copyOnWriteAbilities() {
+        Enemy prototype = fireGoblin();
+        Enemy clone = prototype.clone();
+        same(prototype.getAbilities().get(0), clone.getAbilities().get(0), "shared ability");
+
+        clone.addAbility(Abilities.shadowStrike());
+        equal(2, clone.abilityCount(), "clone abilities");
+        equal(1, prototype.abilityCount(), "prototype abilities after the clone changed");
+        equal(2, clone.getAbilities().size(), "clone view after the change");
+
+        prototype.addAbility(Abilities.frostBreath());
+        Enemy second = prototype.clone();
+        equal(2, prototype.abilityCount(), "prototype abilities");
+        equal(2, second.abilityCount(), "second clone abilities");
+        same(Abilities.shadowStrike(), clone.abilityAt(1), "first clone keeps its own ability");
+        same(Abilities.frostBreath(), second.abilityAt(1), "second clone sees the prototype's ability");
+    }
+
+    private static void lootItems() {
+        LootTable fire = LootTables.fire();
+        same(fire, LootTables.fire(), "built-in loot table");
+        same(fire.getItems(), fire.getItems(), "items list");
+        fails(UnsupportedOperationException.class, () -> fire.getItems().add("Coal"), "add to items");
+
+        WeightedLootTable weighted = new WeightedLootTable(DropTable.builder()
+                .item("Bone", 3, Rarity.COMMON)
+                .item("Skull", 1, Rarity.RARE)
+                .gold(1, 3)
+                .experience(5, 5)
+                .build());
+        same(weighted.getItems(), weighted.getItems(), "weighted items list");
+        equal(List.of("Bone", "Skull"), weighted.getItems(), "weighted items");
+        fails(UnsupportedOperationException.class, () -> weighted.getItems().remove(0), "remove from items");
+    }
+
+    private static void abilityFlyweights() {
+        same(Abilities.flameBreath(), Abilities.flameBreath(), "default flame breath");
+        same(Abilities.flameBreath(), Abilities.flameBreath(Abilities.flameBreath().getDamage()),
+                "flame breath with default damage");
+        same(Abilities.frostBreath(80, 40), Abilities.frostBreath(80, 40), "custom frost breath");
+        same(Abilities.shadowStrike(), Abilities.shadowStrike().clone(), "clone of an immutable ability");
+        equal(80, Abilities.frostBreath(80, 40).getDamage(), "custom frost breath damage");
+    }
+}
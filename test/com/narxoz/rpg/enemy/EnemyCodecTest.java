@@ -0,0 +1,274 @@
+package com.narxoz.rpg.enemy;
+
+import com.narxoz.rpg.combat.Abilities;
+import com.narxoz.rpg.combat.Ability;
+import com.narxoz.rpg.loot.DropTable;
+import com.narxoz.rpg.loot.LootTable;
+import com.narxoz.rpg.loot.LootTables;
+import com.narxoz.rpg.loot.Rarity;
+import com.narxoz.rpg.loot.WeightedLootTable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.narxoz.rpg.Checks.check;
+import static com.narxoz.rpg.Checks.equal;
+import static com.narxoz.rpg.Checks.fails;
+import static com.narxoz.rpg.Checks.run;
+import static com.narxoz.rpg.Checks.same;
+
+// Round trips through EnemyCodec give back enemies equal field by field, with
+// flyweights and shared tables restored as shared instances.
+public class EnemyCodecTest {
+
+    public static void main(String[] args) {
+        run("batch round trip keeps every field", EnemyCodecTest::batchRoundTrip);
+        run("batch round trip restores sharing", EnemyCodecTest::batchSharing);
+        run("instance round trip against a base", EnemyCodecTest::instanceAgainstBase);
+        run("instance round trip without a base", EnemyCodecTest::instanceWithoutBase);
+        run("corrupt input is rejected", EnemyCodecTest::corruptInput);
+        run("bad lengths and counts are rejected before allocating", EnemyCodecTest::badCounts);
+    }
+
+    private static Enemy minion() {
+        return new BasicEnemyBuilder()
+                .setName("Ice Minion")
+                .setHealth(80)
+                .setDamage(12)
+                .setDefense(4)
+                .setSpeed(30)
+                .setElement(Element.ICE)
+                .setAIBehavior(AIBehavior.DEFENSIVE)
+                .addAbility(Abilities.frostBreath())
+                .setLootTable(LootTables.ice())
+                .build();
+    }
+
+    private static Enemy goblin() {
+        Goblin goblin = new Goblin();
+        goblin.setName("Cave Goblin");
+        goblin.addAbility(Abilities.shadowStrike(25, 2));
+        goblin.setLootTableInternal(new WeightedLootTable(DropTable.builder()
+                .item("Rusty Dagger", 5, Rarity.COMMON)
+                .item("Goblin Ear", 2, Rarity.RARE)
+                .gold(3, 9)
+                .experience(10, 20)
+                .build()));
+        return goblin;
+    }
+
+    private static DragonBoss dragon() {
+        BossEnemyBuilder builder = new BossEnemyBuilder();
+        builder.addPhase(1, 50000).addPhase(2, 30000).addPhase(3, 15000);
+        DragonBoss dragon = (DragonBoss) builder
+                .setName("Ancient Fire Dragon")
+                .setHealth(50000)
+                .setDamage(500)
+                .setDefense(200)
+                .setSpeed(50)
+                .setElement(Element.FIRE)
+                .addAbility(Abilities.flameBreath())
+                .addAbility(Abilities.flameBreath(900))
+                .setLootTable(LootTables.fire())
+                .setAIBehavior(AIBehavior.AGGRESSIVE)
+                .build();
+        dragon.setOrigin("dragon", 7);
+        return dragon;
+    }
+
+    private static void batchRoundTrip() {
+        DragonBoss wounded = dragon();
+        wounded.applyDamage(25000);
+        List<Enemy> enemies = List.of(minion(), goblin(), dragon(), wounded);
+
+        List<Enemy> decoded = EnemyCodec.decode(EnemyCodec.encode(enemies));
+
+        equal(enemies.size(), decoded.size(), "decoded count");
+        for (int i = 0; i < enemies.size(); i++) {
+            assertSameEnemy(enemies.get(i), decoded.get(i), "enemy " + i);
+        }
+        equal(2, ((DragonBoss) decoded.get(3)).getCurrentPhase(), "wounded dragon phase");
+    }
+
+    private static void batchSharing() {
+        Enemy prototype = minion();
+        List<Enemy> wave = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            wave.add(prototype.clone());
+        }
+
+        List<Enemy> decoded = EnemyCodec.decode(EnemyCodec.encode(wave));
+
+        for (Enemy enemy : decoded) {
+            same(decoded.get(0).getAbilities().get(0), enemy.getAbilities().get(0), "shared ability");
+            same(LootTables.ice(), enemy.getLootTable(), "built-in loot table");
+        }
+        same(Abilities.frostBreath(), decoded.get(0).abilityAt(0), "ability flyweight");
+        decoded.get(0).addAbility(Abilities.shadowStrike());
+        equal(1, decoded.get(1).abilityCount(), "abilities of a sibling after one clone changed");
+    }
+
+    private static void instanceAgainstBase() {
+        DragonBoss base = dragon();
+        DragonBoss enemy = (DragonBoss) base.clone();
+        enemy.setName("Enraged Dragon");
+        enemy.applyDamage(40000);
+        enemy.checkPhase();
+        enemy.addAbility(Abilities.frostBreath(70, 50));
+
+        ByteBuffer record = encodeInstance(enemy, base);
+        Enemy decoded = EnemyCodec.decodeInstance(base, record);
+
+        check(!record.hasRemaining(), "record not fully read");
+        assertSameEnemy(enemy, decoded, "instance");
+        equal("Ancient Fire Dragon", base.getName(), "base name after decoding");
+        equal(50000, base.getHealth(), "base health after decoding");
+
+        Enemy untouched = base.clone();
+        int unchangedSize = encodeInstance(untouched, base).remaining();
+        check(unchangedSize <= 2, "an unchanged clone should be a kind and an empty mask, was " + unchangedSize + " bytes");
+        assertSameEnemy(untouched, EnemyCodec.decodeInstance(base, encodeInstance(untouched, base)), "unchanged clone");
+    }
+
+    private static void instanceWithoutBase() {
+        for (Enemy enemy : List.of(minion(), goblin(), dragon())) {
+            Enemy decoded = EnemyCodec.decodeInstance(null, encodeInstance(enemy, null));
+            assertSameEnemy(enemy, decoded, enemy.getName());
+        }
+        fails(IllegalArgumentException.class, () -> encodeInstance(minion(), dragon()), "base of another class");
+    }
+
+    private static void corruptInput() {
+        ByteBuffer batch = EnemyCodec.encode(List.of(minion()));
+        fails(IllegalStateException.class, () -> EnemyCodec.decode(ByteBuffer.allocate(4)), "short buffer");
+
+        ByteBuffer badMagic = copy(batch);
+        badMagic.putInt(0, 0);
+        fails(IllegalStateException.class, () -> EnemyCodec.decode(badMagic), "bad magic");
+
+        ByteBuffer truncated = copy(batch).limit(batch.remaining() - 1);
+        fails(IllegalStateException.class, () -> EnemyCodec.decode(truncated), "truncated body");
+    }
+
+    private static void badCounts() {
+        int max = 0x7FFFFFFF;
+        fails(IllegalStateException.class, () -> EnemyCodec.decode(batch(varint(max))),
+                "string count beyond the body");
+        fails(IllegalStateException.class, () -> EnemyCodec.decode(batch(bytes(1), varint(max))),
+                "string length beyond the body");
+        fails(IllegalStateException.class, () -> EnemyCodec.decode(batch(bytes(0), varint(-1))),
+                "negative ability count");
+        fails(IllegalStateException.class, () -> EnemyCodec.decode(batch(bytes(0, 0, 0, 0, 0), varint(max))),
+                "enemy count beyond the body");
+        fails(IllegalStateException.class, () -> EnemyCodec.decode(batch(bytes(0, 1, 99, 0, 0))),
+                "unknown ability type");
+
+        // kind basic, then a field mask
+        fails(IllegalStateException.class,
+                () -> EnemyCodec.decodeInstance(null, record(bytes(0, 1), varint(max))), "name length");
+        fails(IllegalStateException.class,
+                () -> EnemyCodec.decodeInstance(null, record(bytes(0, 0x80, 1), varint(max))), "ability count");
+        fails(IllegalStateException.class,
+                () -> EnemyCodec.decodeInstance(null, record(bytes(0, 0x80, 1), varint(-1))), "negative ability count");
+        fails(IllegalStateException.class,
+                () -> EnemyCodec.decodeInstance(null, record(bytes(0, 0x80, 1, 1, 99, 0, 0))), "unknown ability type");
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+
+    // Unsigned LEB128 of the int's 32 bits, as the codec writes counts
+    private static byte[] varint(int value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long v = value & 0xFFFFFFFFL;
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+        return out.toByteArray();
+    }
+
+    private static ByteBuffer record(byte[]... parts) {
+        ByteBuffer record = ByteBuffer.allocate(64);
+        for (byte[] part : parts) {
+            record.put(part);
+        }
+        return record.flip();
+    }
+
+    private static ByteBuffer batch(byte[]... parts) {
+        ByteBuffer body = record(parts);
+        ByteBuffer batch = ByteBuffer.allocate(EnemyCodec.HEADER_SIZE + body.remaining());
+        batch.putInt(EnemyCodec.MAGIC).putShort((short) EnemyCodec.VERSION).putShort((short) 0)
+                .putInt(body.remaining()).put(body);
+        return batch.flip();
+    }
+
+    private static ByteBuffer encodeInstance(Enemy enemy, Enemy base) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            EnemyCodec.encodeInstance(enemy, base, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private static ByteBuffer copy(ByteBuffer buffer) {
+        ByteBuffer copy = ByteBuffer.allocate(buffer.remaining());
+        copy.put(buffer.duplicate()).flip();
+        return copy;
+    }
+
+    static void assertSameEnemy(Enemy expected, Enemy actual, String what) {
+        equal(expected.getClass(), actual.getClass(), what + " class");
+        equal(expected.getName(), actual.getName(), what + " name");
+        equal(expected.getHealth(), actual.getHealth(), what + " health");
+        equal(expected.getDamage(), actual.getDamage(), what + " damage");
+        equal(expected.getDefense(), actual.getDefense(), what + " defense");
+        equal(expected.getSpeed(), actual.getSpeed(), what + " speed");
+        equal(expected.getElementType(), actual.getElementType(), what + " element");
+        equal(expected.getAiBehaviorType(), actual.getAiBehaviorType(), what + " AI");
+        equal(expected.getTemplateKey(), actual.getTemplateKey(), what + " template key");
+        equal(expected.getGeneration(), actual.getGeneration(), what + " generation");
+
+        equal(expected.abilityCount(), actual.abilityCount(), what + " ability count");
+        for (int i = 0; i < expected.abilityCount(); i++) {
+            Ability a = expected.abilityAt(i);
+            Ability b = actual.abilityAt(i);
+            equal(a.getClass(), b.getClass(), what + " ability " + i);
+            equal(a.getDamage(), b.getDamage(), what + " ability " + i + " damage");
+            equal(a.getDescription(), b.getDescription(), what + " ability " + i + " description");
+        }
+
+        LootTable loot = expected.getLootTable();
+        LootTable other = actual.getLootTable();
+        equal(loot.getClass(), other.getClass(), what + " loot table");
+        equal(loot.getItems(), other.getItems(), what + " loot items");
+        equal(loot.getGoldDrop(), other.getGoldDrop(), what + " gold");
+        equal(loot.getExperienceDrop(), other.getExperienceDrop(), what + " experience");
+
+        if (expected instanceof DragonBoss) {
+            PhaseTable phases = ((DragonBoss) expected).getPhases();
+            PhaseTable decoded = ((DragonBoss) actual).getPhases();
+            equal(phases.size(), decoded.size(), what + " phase count");
+            for (int i = 0; i < phases.size(); i++) {
+                equal(phases.phaseAt(i), decoded.phaseAt(i), what + " phase " + i);
+                equal(phases.thresholdAt(i), decoded.thresholdAt(i), what + " threshold " + i);
+            }
+            equal(((DragonBoss) expected).getCheckedPhaseInternal(),
+                    ((DragonBoss) actual).getCheckedPhaseInternal(), what + " checked phase");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.narxoz.rpg.loot;
+
+import com.narxoz.rpg.enemy.BasicEnemyBuilder;
+import com.narxoz.rpg.enemy.Enemy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.narxoz.rpg.Checks.check;
+import static com.narxoz.rpg.Checks.equal;
+import static com.narxoz.rpg.Checks.run;
+
+// Kill i always rolls with the same seed, so the parallel aggregation must give
+// exactly the sequential summary; reading a summary never changes ItemIds.
+public class LootAggregatorTest {
+
+    public static void main(String[] args) {
+        run("parallel and sequential aggregation agree", LootAggregatorTest::parallelMatchesSequential);
+        run("getCount of an unknown item does not intern it", LootAggregatorTest::lookupDoesNotIntern);
+    }
+
+    private static List<Enemy> wave(int size) {
+        List<LootTable> tables = List.of(LootTables.fire(), LootTables.ice(), LootTables.shadow(),
+                new WeightedLootTable(DropTable.builder()
+                        .item("Bone", 3, Rarity.COMMON)
+                        .item("Skull", 1, Rarity.RARE)
+                        .gold(1, 9)
+                        .experience(5, 15)
+                        .build()));
+        List<Enemy> enemies = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            enemies.add(new BasicEnemyBuilder()
+                    .setName("Enemy " + i)
+                    .setHealth(100)
+                    .setLootTable(tables.get(i % tables.size()))
+                    .build());
+        }
+        return enemies;
+    }
+
+    private static void parallelMatchesSequential() {
+        List<Enemy> enemies = wave(20_000);
+        for (long seed : new long[]{0, 42, -7, Long.MAX_VALUE}) {
+            LootSummary sequential = LootAggregator.aggregate(enemies, seed);
+            LootSummary parallel = LootAggregator.aggregateParallel(enemies, seed);
+            equal(sequential, parallel, "summary for seed " + seed);
+            equal((long) enemies.size(), parallel.getKills(), "kills for seed " + seed);
+            equal(sequential.getCount("Skull"), parallel.getCount("Skull"), "skulls for seed " + seed);
+        }
+        check(!LootAggregator.aggregate(enemies, 1).equals(LootAggregator.aggregate(enemies, 2)),
+                "different seeds gave the same summary");
+    }
+
+    private static void lookupDoesNotIntern() {
+        LootSummary summary = LootAggregator.aggregate(wave(100), 1);
+        int ids = ItemIds.count();
+        equal(0L, summary.getCount("Never Dropped " + System.nanoTime()), "count of an unknown item");
+        equal(ids, ItemIds.count(), "interned items after the lookup");
+        equal(-1, ItemIds.find("Never Dropped"), "id of an unknown item");
+    }
+}
@@ -0,0 +1,217 @@
+package com.narxoz.rpg.prototype;
+
+import com.narxoz.rpg.enemy.BasicEnemyBuilder;
+import com.narxoz.rpg.enemy.Enemy;
+import com.narxoz.rpg.loot.LootTables;
+import com.narxoz.rpg.metrics.Metrics;
+import com.narxoz.rpg.metrics.RecordingSpawnMetrics;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.narxoz.rpg.Checks.check;
+import static com.narxoz.rpg.Checks.equal;
+import static com.narxoz.rpg.Checks.fails;
+import static com.narxoz.rpg.Checks.run;
+import static com.narxoz.rpg.Checks.same;
+
+// Copy-on-write registry: no update is lost when writers race on the CAS, and
+// readers only ever see complete snapshots.
+public class EnemyRegistryTest {
+
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 500;
+
+    public static void main(String[] args) {
+        run("concurrent registrations are all published", EnemyRegistryTest::concurrentRegistrations);
+        run("concurrent register/remove pairs all succeed", EnemyRegistryTest::concurrentRegisterAndRemove);
+        run("spawns during writes always find the template", EnemyRegistryTest::spawnsDuringWrites);
+        run("spawns of keys being registered see whole templates", EnemyRegistryTest::spawnsRaceRegistration);
+        run("listTemplates is a stable read-only snapshot", EnemyRegistryTest::stableKeySet);
+        run("findTemplate neither spawns nor meters", EnemyRegistryTest::findTemplateIsNotASpawn);
+    }
+
+    static Enemy goblin(String name) {
+        return new BasicEnemyBuilder()
+                .setName(name)
+                .setHealth(100)
+                .setDamage(15)
+                .setDefense(5)
+                .setSpeed(35)
+                .setLootTable(LootTables.fire())
+                .build();
+    }
+
+    private static void concurrentRegistrations() {
+        EnemyRegistry registry = new EnemyRegistry();
+        Enemy template = goblin("Goblin");
+        race(t -> {
+            for (int i = 0; i < PER_THREAD; i++) {
+                registry.registerTemplate("goblin-" + t + "-" + i, template);
+            }
+        });
+
+        equal(THREADS * PER_THREAD, registry.listTemplates().size(), "template count");
+        equal((long) THREADS * PER_THREAD, registry.getVersion(), "registry version");
+        Set<Long> generations = new HashSet<>();
+        for (String key : registry.listTemplates()) {
+            Enemy spawned = registry.createFromTemplate(key);
+            equal(key, spawned.getTemplateKey(), "template key");
+            check(generations.add(spawned.getGeneration()), "generation " + spawned.getGeneration() + " used twice");
+        }
+    }
+
+    private static void concurrentRegisterAndRemove() {
+        EnemyRegistry registry = new EnemyRegistry();
+        Enemy template = goblin("Goblin");
+        AtomicInteger removed = new AtomicInteger();
+        race(t -> {
+            for (int i = 0; i < PER_THREAD; i++) {
+                String key = "goblin-" + t + "-" + i;
+                registry.registerTemplate(key, template);
+                if (registry.removeTemplate(key)) {
+                    removed.incrementAndGet();
+                }
+            }
+        });
+
+        equal(THREADS * PER_THREAD, removed.get(), "successful removals");
+        check(registry.listTemplates().isEmpty(), "templates left behind: " + registry.listTemplates());
+        equal(2L * THREADS * PER_THREAD, registry.getVersion(), "registry version");
+    }
+
+    private static void spawnsDuringWrites() {
+        EnemyRegistry registry = new EnemyRegistry();
+        registry.registerTemplate("base", goblin("Base"));
+        AtomicInteger spawned = new AtomicInteger();
+        race(t -> {
+            for (int i = 0; i < PER_THREAD; i++) {
+                if (t % 2 == 0) {
+                    registry.registerTemplate("extra-" + t + "-" + i, goblin("Extra"));
+                } else {
+                    List<Enemy> wave = registry.spawn("base", 4);
+                    for (Enemy enemy : wave) {
+                        equal("Base", enemy.getName(), "spawned name");
+                        equal(100, enemy.getHealth(), "spawned health");
+                    }
+                    spawned.addAndGet(wave.size());
+                }
+            }
+        });
+
+        equal(THREADS / 2 * PER_THREAD * 4, spawned.get(), "spawned enemies");
+        equal(THREADS / 2 * PER_THREAD + 1, registry.listTemplates().size(), "template count");
+    }
+
+    // Writers keep registering and replacing a few hot keys while readers spawn
+    // them; each template's health is derived from its name, so a reader that saw
+    // a half-published template would find the two out of step.
+    private static void spawnsRaceRegistration() {
+        EnemyRegistry registry = new EnemyRegistry();
+        int hot = 4;
+        race(t -> {
+            long[] lastGeneration = new long[hot];
+            for (int i = 0; i < PER_THREAD; i++) {
+                int k = (i + t) % hot;
+                String key = "hot-" + k;
+                if (t % 2 == 0) {
+                    registry.registerTemplate(key, new BasicEnemyBuilder()
+                            .setName("Hot " + i)
+                            .setHealth(100 + i)
+                            .setLootTable(LootTables.fire())
+                            .build());
+                    continue;
+                }
+                if (registry.findTemplate(key) == null) {
+                    continue; // not registered yet; keys are never removed here
+                }
+                for (Enemy enemy : registry.spawn(key, 2)) {
+                    int version = Integer.parseInt(enemy.getName().substring("Hot ".length()));
+                    equal(100 + version, enemy.getHealth(), "health of " + enemy.getName());
+                    equal(key, enemy.getTemplateKey(), "template key");
+                    check(enemy.getGeneration() >= lastGeneration[k], "generation of " + key + " went back");
+                    lastGeneration[k] = enemy.getGeneration();
+                }
+            }
+        });
+
+        equal(hot, registry.listTemplates().size(), "template count");
+        equal((long) THREADS / 2 * PER_THREAD, registry.getVersion(), "registry version");
+        for (int k = 0; k < hot; k++) {
+            Enemy enemy = registry.createFromTemplate("hot-" + k);
+            check(enemy.getName().startsWith("Hot "), "template of hot-" + k);
+        }
+    }
+
+    private static void stableKeySet() {
+        EnemyRegistry registry = new EnemyRegistry();
+        registry.registerTemplate("a", goblin("A"));
+        Set<String> before = registry.listTemplates();
+        registry.registerTemplate("b", goblin("B"));
+        registry.removeTemplate("a");
+
+        equal(Set.of("a"), before, "earlier key set");
+        equal(Set.of("b"), registry.listTemplates(), "current key set");
+        fails(UnsupportedOperationException.class, () -> before.add("c"), "adding to the key set");
+    }
+
+    private static void findTemplateIsNotASpawn() {
+        EnemyRegistry registry = new EnemyRegistry();
+        registry.registerTemplate("goblin", goblin("Goblin"));
+        RecordingSpawnMetrics metrics = new RecordingSpawnMetrics(false);
+        Metrics.install(metrics);
+        try {
+            Enemy template = registry.findTemplate("goblin");
+            same(template, registry.findTemplate("goblin"), "published template");
+            equal("Goblin", template.getName(), "template name");
+            equal(null, registry.findTemplate("dragon"), "unknown key");
+            check(metrics.getSpawnLatencies().isEmpty(), "lookup recorded as a spawn");
+            equal(0L, metrics.getCloneCount(1), "clones recorded by a lookup");
+        } finally {
+            Metrics.install(null);
+        }
+    }
+
+    private interface Worker {
+        void run(int thread);
+    }
+
+    // Starts THREADS workers together and rethrows the first failure
+    private static void race(Worker worker) {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    worker.run(id);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }, "registry-test-" + t);
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted", e);
+            }
+        }
+        Throwable first = failure.get();
+        if (first instanceof Error) {
+            throw (Error) first;
+        }
+        if (first != null) {
+            throw new AssertionError("Worker failed", first);
+        }
+    }
+}
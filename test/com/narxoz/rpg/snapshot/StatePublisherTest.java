@@ -0,0 +1,93 @@
+package com.narxoz.rpg.snapshot;
+
+import com.narxoz.rpg.enemy.BasicEnemyBuilder;
+import com.narxoz.rpg.enemy.Enemy;
+import com.narxoz.rpg.loot.LootTables;
+
+import java.util.List;
+
+import static com.narxoz.rpg.Checks.check;
+import static com.narxoz.rpg.Checks.equal;
+import static com.narxoz.rpg.Checks.fails;
+import static com.narxoz.rpg.Checks.run;
+import static com.narxoz.rpg.Checks.same;
+
+// Ids stay stable across ticks, deltas name what changed, and a rejected
+// publish leaves the publisher exactly as it was.
+public class StatePublisherTest {
+
+    public static void main(String[] args) {
+        run("unchanged enemies keep their state and id", StatePublisherTest::stableIds);
+        run("a duplicate known enemy is rejected without side effects", StatePublisherTest::duplicateKnownEnemy);
+        run("a duplicate new enemy is rejected without side effects", StatePublisherTest::duplicateNewEnemy);
+        run("a reinitialised enemy gets a new id", StatePublisherTest::reinitialisedEnemy);
+    }
+
+    static Enemy goblin(String name) {
+        return new BasicEnemyBuilder()
+                .setName(name)
+                .setHealth(100)
+                .setLootTable(LootTables.fire())
+                .build();
+    }
+
+    private static void stableIds() {
+        StatePublisher publisher = new StatePublisher();
+        Enemy a = goblin("a");
+        Enemy b = goblin("b");
+        WorldState first = publisher.publish(List.of(a, b));
+        b.applyDamage(10);
+        WorldState second = publisher.publish(List.of(a, b));
+
+        same(first.get(0), second.get(0), "unchanged enemy state");
+        equal(first.get(1).id(), second.get(1).id(), "id of the damaged enemy");
+        equal(90, second.get(1).health(), "published health");
+        StateDelta delta = second.changedSince(first.getVersion());
+        equal(List.of(second.get(1)), delta.changed(), "changed enemies");
+        check(delta.removed().isEmpty(), "nothing was removed");
+    }
+
+    private static void duplicateKnownEnemy() {
+        StatePublisher publisher = new StatePublisher();
+        Enemy a = goblin("a");
+        Enemy b = goblin("b");
+        WorldState before = publisher.publish(List.of(a, b));
+
+        fails(IllegalArgumentException.class, () -> publisher.publish(List.of(a, b, a)), "duplicate publish");
+        same(before, publisher.current(), "current state after the rejected publish");
+
+        for (int i = 0; i < 3; i++) {
+            WorldState next = publisher.publish(List.of(a, b));
+            equal(before.get(0).id(), next.get(0).id(), "id of a");
+            equal(before.get(1).id(), next.get(1).id(), "id of b");
+        }
+        check(publisher.current().changedSince(before.getVersion()).isEmpty(), "nothing changed");
+    }
+
+    private static void duplicateNewEnemy() {
+        StatePublisher publisher = new StatePublisher();
+        Enemy a = goblin("a");
+        Enemy c = goblin("c");
+        WorldState before = publisher.publish(List.of(a));
+
+        fails(IllegalArgumentException.class, () -> publisher.publish(List.of(a, c, c)), "duplicate new enemy");
+        same(before, publisher.current(), "current state after the rejected publish");
+
+        WorldState next = publisher.publish(List.of(a, c));
+        equal(before.get(0).id(), next.get(0).id(), "id of a");
+        equal(before.get(0).id() + 1, next.get(1).id(), "first id handed out after the rejected publish");
+        check(next.changedSince(before.getVersion()).removed().isEmpty(), "no phantom removals");
+    }
+
+    private static void reinitialisedEnemy() {
+        StatePublisher publisher = new StatePublisher();
+        Enemy template = goblin("a");
+        Enemy enemy = template.clone();
+        WorldState first = publisher.publish(List.of(enemy));
+        enemy.reinitFrom(template);
+        WorldState second = publisher.publish(List.of(enemy));
+
+        check(first.get(0).id() != second.get(0).id(), "reinitialised enemy kept its id");
+        equal(List.of(first.get(0).id()), second.changedSince(first.getVersion()).removed(), "removed ids");
+    }
+}